@@ -0,0 +1,60 @@
+package com.example.project;
+
+import java.io.*;
+
+/**
+ * Synthetic datasets for the benchmarks, written as the CSV files of the system in the working directory.
+ *
+ * The benchmarks read and write the CSV files in the working directory like Tema1 does, so they must be run from
+ * an empty scratch directory: populate() refuses to overwrite existing files, and clean() removes everything
+ * the benchmark created.
+ */
+public class BenchmarkData {
+
+    private static final String[] FILES = {"Users.csv", "Questions.csv", "Quizzes.csv", "Solutions.csv", "Deleted.csv",
+            Snapshot.FILE};
+
+    /**
+     * Writes a dataset scaled on the number of users through DatasetGenerator: N users, N / 10 questions, N / 10
+     * quizzes and up to 5 solutions per user.
+     * @param users number of users.
+     * @throws IOException if a file cannot be written.
+     * @throws IllegalStateException if the working directory already holds data files.
+     */
+    public static void populate(int users) throws IOException {
+        requireEmpty();
+        new DatasetGenerator(42, users, Math.max(users / 10, DatasetGenerator.QUESTIONS_PER_QUIZ),
+                Math.max(users / 10, 1), 5).generate(new File("."));
+    }
+
+    /**
+     * Checks that the working directory holds none of the data files, which a benchmark would overwrite.
+     * @throws IllegalStateException if the working directory already holds data files.
+     */
+    public static void requireEmpty() {
+        for (String file : FILES) {
+            if (new File(file).exists()) {
+                throw new IllegalStateException("Benchmarks must be run from an empty directory; found " + file);
+            }
+        }
+    }
+
+    /**
+     * Removes all data files from the working directory.
+     */
+    public static void clean() {
+        for (String file : FILES) {
+            new File(file).delete();
+        }
+    }
+
+    /**
+     * Sends the responses printed by the commands to a stream that discards them.
+     * @return the standard output it replaces, to be restored afterwards.
+     */
+    public static PrintStream silence() {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return out;
+    }
+}
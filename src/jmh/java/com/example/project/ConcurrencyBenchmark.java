@@ -0,0 +1,95 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how read-heavy workloads scale across threads when commands share one resident database through
+ * Command.interpreter: read-only commands (listing quizzes and their details) run on 1, 4 and all available
+ * threads, and a mixed group runs seven readers for every writer submitting solutions. Must be run from an empty
+ * scratch directory (see BenchmarkData).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrencyBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private Database db;
+    private PrintStream out;
+    private Command[] reads;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.populate(this.users);
+        this.out = BenchmarkData.silence();
+
+        this.db = new Database();
+        this.db.connect();
+
+        this.reads = new Command[1024];
+        for (int i = 0; i < this.reads.length; i++) {
+            String username = DatasetGenerator.username(i % this.users);
+            String credentials = " -u '" + username + "' -p '" + username + "'";
+            this.reads[i] = i % 2 == 0
+                    ? Command.parse("-get-quizz-details-by-id" + credentials + " -id '" + (1 + i % this.db.getNoQuizzes()) + "'")
+                    : Command.parse("-get-all-quizzes" + credentials + " -page-size '20' -cursor '" + i % this.db.getNoQuizzes() + "'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.db.close();
+        System.setOut(this.out);
+        BenchmarkData.clean();
+    }
+
+    private void read() {
+        this.reads[ThreadLocalRandom.current().nextInt(this.reads.length)].interpreter(this.db);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void readOneThread() {
+        this.read();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void readFourThreads() {
+        this.read();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void readAllThreads() {
+        this.read();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public void mixedRead() {
+        this.read();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite() {
+        int user = ThreadLocalRandom.current().nextInt(this.users);
+        int quiz = 1 + ThreadLocalRandom.current().nextInt(this.db.getNoQuizzes());
+        String username = DatasetGenerator.username(user);
+        new Command(new String[]{"-submit-quizz", "-u '" + username + "'", "-p '" + username + "'",
+                "-quiz-id '" + quiz + "'", "-answer-id-1 '1'"}).interpreter(this.db);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the main paths of the system against synthetic datasets of several scales (see BenchmarkData): loading
+ * the database from the CSV files or from a snapshot, logging in, creating a quiz, scoring a submission, listing the details of a quiz, deleting a quiz,
+ * finding a question by its text or a quiz by its name and listing all questions or quizzes. Must be run from an
+ * empty scratch directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private Database db;
+    private PrintStream out;
+    private Random random;
+    private int created;
+
+    private Request[] logins;
+    private Quiz quiz;
+    private int[] answerIDs;
+
+    private Command[] questionLookups;
+    private Request[] quizLookups;
+    private Command allQuestions;
+    private Request allQuizzes;
+
+    /**
+     * Quiz created before every invocation of deleteQuiz, so that each invocation has a quiz to delete.
+     */
+    @State(Scope.Thread)
+    public static class Deletion {
+        private Quiz quiz;
+
+        @Setup(Level.Invocation)
+        public void prepare(DatabaseBenchmark benchmark) {
+            this.quiz = new Quiz(benchmark.db.users[0], "Deleted " + benchmark.created++, benchmark.quiz.getQuestions());
+            benchmark.db.addQuiz(this.quiz);
+        }
+    }
+
+    /**
+     * Snapshot of the dataset, written before the trial of connectFromSnapshot only, so that connect keeps
+     * measuring the CSV loaders.
+     */
+    @State(Scope.Benchmark)
+    public static class SnapshotFile {
+        @Setup(Level.Trial)
+        public void write(DatabaseBenchmark benchmark) throws IOException {
+            Snapshot.write(benchmark.db, Snapshot.FILE);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.populate(this.users);
+        this.out = BenchmarkData.silence();
+        this.random = new Random(42);
+
+        this.db = new Database();
+        this.db.connect();
+
+        this.logins = new Request[1024];
+        for (int i = 0; i < this.logins.length; i++) {
+            int user = this.random.nextInt(this.users);
+            int quiz = 1 + this.random.nextInt(this.db.getNoQuizzes());
+            String username = DatasetGenerator.username(user);
+            this.logins[i] = new Request(new String[]{"-get-quizz-details-by-id", "-u '" + username + "'",
+                    "-p '" + username + "'", "-id '" + quiz + "'"});
+        }
+
+        this.quiz = this.db.quizzes[0];
+        this.answerIDs = new int[this.quiz.getQuestions().length * 2];
+        for (int i = 0; i < this.answerIDs.length; i++) {
+            Question question = this.quiz.getQuestions()[i / 2];
+            this.answerIDs[i] = question.getAnswers()[this.random.nextInt(question.getAnswers().length)].getId();
+        }
+
+        this.questionLookups = new Command[1024];
+        this.quizLookups = new Request[1024];
+        for (int i = 0; i < this.questionLookups.length; i++) {
+            String username = DatasetGenerator.username(this.random.nextInt(this.users));
+            String text = this.db.questions[this.random.nextInt(this.db.getNoQuestions())].getText();
+            String name = this.db.quizzes[this.random.nextInt(this.db.getNoQuizzes())].getName();
+            this.questionLookups[i] = new Command(new String[]{"-get-question-id-by-text", "-u '" + username + "'",
+                    "-p '" + username + "'", "-text '" + text + "'"});
+            this.quizLookups[i] = new Request(new String[]{"-get-quizz-by-name", "-u '" + username + "'",
+                    "-p '" + username + "'", "-name '" + name + "'"});
+        }
+        String username = DatasetGenerator.username(0);
+        this.allQuestions = new Command(new String[]{"-get-all-questions", "-u '" + username + "'",
+                "-p '" + username + "'"});
+        this.allQuizzes = new Request(new String[]{"-get-all-quizzes", "-u '" + username + "'",
+                "-p '" + username + "'"});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.db.close();
+        System.setOut(this.out);
+        BenchmarkData.clean();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Database connect() {
+        Database loaded = new Database();
+        loaded.connect();
+        return loaded;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Database connectFromSnapshot(SnapshotFile snapshot) {
+        Database loaded = new Database();
+        loaded.connect();
+        return loaded;
+    }
+
+    @Benchmark
+    public User login() {
+        return User.login(this.logins[this.random.nextInt(this.logins.length)], this.db);
+    }
+
+    @Benchmark
+    public void createQuiz() {
+        User author = this.db.users[this.random.nextInt(this.db.getNoUsers())];
+        Quiz.create(author, new Request(new String[]{"-create-quizz", "-u '" + author.getUsername() + "'",
+                "-p '" + author.getPassword() + "'", "-name 'Created " + this.created++ + "'", "-question-1 '1'",
+                "-question-2 '2'"}), this.db);
+    }
+
+    @Benchmark
+    public void addSolution() {
+        this.db.users[this.random.nextInt(this.db.getNoUsers())].addSolution(this.quiz, this.answerIDs, this.db);
+    }
+
+    @Benchmark
+    public void getDetails() {
+        Quiz.getDetails(this.logins[this.random.nextInt(this.logins.length)], this.db);
+    }
+
+    @Benchmark
+    public void deleteQuiz(Deletion deletion) {
+        deletion.quiz.delete(this.db);
+    }
+
+    @Benchmark
+    public void findQuestionByText() {
+        Question.find(this.questionLookups[this.random.nextInt(this.questionLookups.length)], this.db);
+    }
+
+    @Benchmark
+    public void findQuizByName() {
+        Quiz.find(this.quizLookups[this.random.nextInt(this.quizLookups.length)], this.db);
+    }
+
+    @Benchmark
+    public void getAllQuestions() {
+        Question.findAll(this.allQuestions, this.db);
+    }
+
+    @Benchmark
+    public void getAllQuizzes() {
+        Quiz.findAll(this.db.users[0], this.allQuizzes, this.db);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the text and name indexes of the database at 10k, 100k and 1M questions and quizzes: finding a question
+ * by its text, finding a quiz by its name, and creating a question or a quiz, whose duplicate check goes through
+ * the same index. The entries are built in memory, without CSV files, so that the largest scale stays quick to set
+ * up; the created entries are appended to the CSV files of the working directory, which must be empty (see
+ * BenchmarkData).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int entries;
+
+    private Database db;
+    private PrintStream out;
+    private Random random;
+    private User author;
+    private int created;
+
+    private Command[] questionLookups;
+    private Request[] quizLookups;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkData.requireEmpty();
+        this.out = BenchmarkData.silence();
+        this.random = new Random(42);
+
+        this.db = new Database();
+        this.author = new User("author", "author");
+        this.db.putUser(this.author);
+        for (int i = 1; i <= this.entries; i++) {
+            Question question = new Question(i, "Question " + i, "single",
+                    new Answer[]{new Answer(2 * i - 1, "Yes", true), new Answer(2 * i, "No", false)});
+            this.db.putQuestion(question);
+            this.db.putQuiz(new Quiz(i, this.author, "Quiz " + i, new Question[]{question}));
+        }
+        Question.reserveId(this.entries);
+        Answer.reserveId(2 * this.entries);
+        Quiz.reserveId(this.entries);
+
+        this.questionLookups = new Command[1024];
+        this.quizLookups = new Request[1024];
+        for (int i = 0; i < this.questionLookups.length; i++) {
+            this.questionLookups[i] = new Command(new String[]{"-get-question-id-by-text", "-u 'author'",
+                    "-p 'author'", "-text 'Question " + (1 + this.random.nextInt(this.entries)) + "'"});
+            this.quizLookups[i] = new Request(new String[]{"-get-quizz-by-name", "-u 'author'", "-p 'author'",
+                    "-name 'Quiz " + (1 + this.random.nextInt(this.entries)) + "'"});
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.db.close();
+        System.setOut(this.out);
+        BenchmarkData.clean();
+    }
+
+    @Benchmark
+    public void findQuestionByText() {
+        Question.find(this.questionLookups[this.random.nextInt(this.questionLookups.length)], this.db);
+    }
+
+    @Benchmark
+    public void findQuizByName() {
+        Quiz.find(this.quizLookups[this.random.nextInt(this.quizLookups.length)], this.db);
+    }
+
+    @Benchmark
+    public void createQuestion() {
+        Question.create(new Command(new String[]{"-create-question", "-u 'author'", "-p 'author'",
+                "-text 'Created " + this.created++ + "'", "-type 'single'", "-answer-1 'Yes'",
+                "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"}), this.db);
+    }
+
+    @Benchmark
+    public void createQuiz() {
+        Quiz.create(this.author, new Request(new String[]{"-create-quizz", "-u 'author'", "-p 'author'",
+                "-name 'Created " + this.created++ + "'", "-question-1 '1'", "-question-2 '2'"}), this.db);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the arguments of the two most frequent writes, "-create-question" (flags checked by
+ * Command.questionCheckValidity, then text, type and answers read) and "-submit-quizz" (quiz and answer IDs read),
+ * once through Request and once by splitting every argument on its quotes as the handlers used to; no files are
+ * touched. Run with "-prof gc" to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private final String[] question = {"-create-question", "-u 'user'", "-p 'password'",
+            "-text 'Which of these are prime numbers?'", "-type 'multiple'", "-answer-1 'Two'", "-answer-1-is-correct '1'",
+            "-answer-2 'Four'", "-answer-2-is-correct '0'", "-answer-3 'Five'", "-answer-3-is-correct '1'",
+            "-answer-4 'Nine'", "-answer-4-is-correct '0'"};
+
+    private final String[] submission = {"-submit-quizz", "-u 'user'", "-p 'password'", "-quiz-id '42'",
+            "-answer-id-1 '101'", "-answer-id-2 '103'", "-answer-id-3 '107'", "-answer-id-4 '109'",
+            "-answer-id-5 '113'"};
+
+    @Benchmark
+    public void questionRequest(Blackhole blackhole) {
+        Command command = new Command(this.question);
+        blackhole.consume(command.questionCheckValidity());
+        Request request = command.getRequest();
+        blackhole.consume(request.value(3));
+        blackhole.consume(request.value(4));
+        for (int i = 5; i < request.size(); i += 2) {
+            blackhole.consume(request.value(i));
+            blackhole.consume(request.valueEquals(i + 1, "1"));
+        }
+    }
+
+    @Benchmark
+    public void questionSplit(Blackhole blackhole) {
+        String[] args = this.question;
+        blackhole.consume(args[3].split(" ")[0].equals("-text") && args[3].split(" ").length > 1);
+        for (int i = 5, n = 1; i < args.length; i += 2, n++) {
+            String[] answer = args[i].split("'");
+            String[] flag = args[i + 1].split("'");
+            blackhole.consume(answer[0].trim().equals("-answer-" + n) && answer.length > 1);
+            blackhole.consume(flag[0].trim().equals("-answer-" + n + "-is-correct") && flag.length > 1);
+            blackhole.consume(Integer.parseInt(flag[1]));
+        }
+        blackhole.consume(args[3].split("'")[1]);
+        blackhole.consume(args[4].split("'")[1]);
+        for (int i = 5; i < args.length; i += 2) {
+            blackhole.consume(args[i].split("'")[1]);
+            blackhole.consume(args[i + 1].split("'")[1].equals("1"));
+        }
+    }
+
+    @Benchmark
+    public int submissionRequest() {
+        Request request = new Request(this.submission);
+        int sum = request.is(1, "-u") && request.is(2, "-p") && request.hasValue(3) ? request.intValue(3) : 0;
+        for (int i = 4; i < request.size(); i++) {
+            sum += request.intValue(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int submissionSplit() {
+        String[] args = this.submission;
+        int sum = args[1].split("'")[0].trim().equals("-u") && args[2].split("'")[0].trim().equals("-p")
+                && args[3].split(" ").length > 1 ? Integer.parseInt(args[3].split("'")[1]) : 0;
+        for (int i = 4; i < args.length; i++) {
+            sum += Integer.parseInt(args[i].split("'")[1]);
+        }
+        return sum;
+    }
+}
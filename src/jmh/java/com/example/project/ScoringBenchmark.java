@@ -0,0 +1,72 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring a submission by walking the Question and Answer objects (User.score) with scoring it through
+ * the bitmask scorer of the quiz (QuizScorer), on quizzes of several sizes; no files are touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int noQuestions;
+
+    private Quiz quiz;
+    private int[][] submissions;
+    private long[][] selections;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Question[] questions = new Question[this.noQuestions];
+        int answerId = 1;
+        for (int i = 0; i < this.noQuestions; i++) {
+            Answer[] answers = new Answer[5];
+            for (int j = 0; j < answers.length; j++) {
+                answers[j] = new Answer(answerId++, "Answer " + j, j < 2);
+            }
+            questions[i] = new Question(i + 1, "Question " + i, "multiple", answers);
+        }
+        this.quiz = new Quiz(1, new User("author", "author"), "Benchmark quiz", questions);
+
+        this.submissions = new int[1024][];
+        this.selections = new long[this.submissions.length][];
+        for (int i = 0; i < this.submissions.length; i++) {
+            int[] answerIDs = new int[this.noQuestions * 2];
+            for (int j = 0; j < answerIDs.length; j++) {
+                answerIDs[j] = 1 + random.nextInt(answerId - 1);
+            }
+            this.submissions[i] = answerIDs;
+            this.selections[i] = this.quiz.getScorer().select(answerIDs);
+        }
+    }
+
+    @Benchmark
+    public int objectWalk() {
+        return User.score(this.quiz, this.submissions[this.next++ & (this.submissions.length - 1)]);
+    }
+
+    @Benchmark
+    public int bitmask() {
+        return this.quiz.getScorer().score(this.submissions[this.next++ & (this.submissions.length - 1)]);
+    }
+
+    /**
+     * Scoring kernel alone, on submissions already turned into selection masks.
+     */
+    @Benchmark
+    public void bitmaskKernel(Blackhole blackhole) {
+        blackhole.consume(this.quiz.getScorer().score(this.selections[this.next++ & (this.selections.length - 1)]));
+    }
+}
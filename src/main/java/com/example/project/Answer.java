@@ -1,5 +1,7 @@
 package com.example.project;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Class representing an answer to a question in the quiz-generator's system.
  */
@@ -9,7 +11,7 @@ public class Answer {
     private String text;
     private boolean value;
 
-    static int count = 1;
+    static final AtomicInteger count = new AtomicInteger(1);
 
     /**
      * Constructor  without parameters.
@@ -24,7 +26,7 @@ public class Answer {
      * @param value answer correctness value.
      */
     public Answer(String text, boolean value) {
-        this(count++, text, value);
+        this(count.getAndIncrement(), text, value);
     }
 
     /**
@@ -39,6 +41,14 @@ public class Answer {
         this.value = value;
     }
 
+    /**
+     * Makes sure the static counter never hands out an ID that is already used by an answer read at startup.
+     * @param id answer ID found in the files.
+     */
+    static void reserveId(int id) {
+        count.accumulateAndGet(id + 1, Math::max);
+    }
+
     public int getId() {
         return id;
     }
@@ -79,4 +89,14 @@ public class Answer {
 
         return false;
     }
+
+    /**
+     * Checks whether the current answer's ID exists in a set of selected answer IDs.
+     * @param answerIDs set of the IDs of all the answers chosen by a user for a quiz containing the current
+     *                  question (this).
+     * @return true if answer is marked as chosen (its ID exists in answerIDs); false if not.
+     */
+    public boolean isChosen(IntSet answerIDs) {
+        return answerIDs.contains(this.id);
+    }
 }
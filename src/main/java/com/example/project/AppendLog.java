@@ -0,0 +1,212 @@
+package com.example.project;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that appends rows to the CSV files of the system through writers kept open between rows, committing
+ * them in groups: buffered rows are flushed (and, depending on the durability mode, forced to disk) once a
+ * batch of rows has accumulated, once the commit interval has passed (checked by a background thread), and when
+ * the log is closed.
+ *
+ * The durability mode and the group size are read from the "quiz.durability" (none, group or sync),
+ * "quiz.commit.batch" and "quiz.commit.interval" (milliseconds) system properties.
+ */
+public class AppendLog implements Closeable {
+
+    /**
+     * How far a committed row is guaranteed to have gone.
+     */
+    public enum Durability {
+        /**
+         * Rows are handed to the operating system at every commit, without forcing them to disk.
+         */
+        NONE,
+        /**
+         * Rows are forced to disk at every commit, one commit covering a whole group of rows.
+         */
+        GROUP,
+        /**
+         * Every row is forced to disk before append returns.
+         */
+        SYNC
+    }
+
+    /**
+     * Open file with its buffered writer.
+     */
+    private static class Appender {
+        private final FileOutputStream stream;
+        private final BufferedWriter writer;
+
+        private Appender(String file) throws IOException {
+            this.stream = new FileOutputStream(file, true);
+            this.writer = new BufferedWriter(new OutputStreamWriter(this.stream, StandardCharsets.UTF_8), 1 << 16);
+        }
+    }
+
+    private final Durability durability;
+    private final int batchSize;
+    private final long intervalMillis;
+
+    private final HashMap<String, Appender> appenders = new HashMap<>();
+    private ScheduledExecutorService flusher;
+    private int pending = 0;
+    private long lastCommit = System.currentTimeMillis();
+
+    /**
+     * Constructor without parameters; settings are read from system properties.
+     */
+    public AppendLog() {
+        this(Durability.valueOf(System.getProperty("quiz.durability", "group").toUpperCase()),
+                Integer.getInteger("quiz.commit.batch", 64), Long.getLong("quiz.commit.interval", 50L));
+    }
+
+    /**
+     * Constructor with parameters.
+     * @param durability durability mode.
+     * @param batchSize number of rows after which a commit is made.
+     * @param intervalMillis time after which pending rows are committed, in milliseconds.
+     */
+    public AppendLog(Durability durability, int batchSize, long intervalMillis) {
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Appends a line to a file, committing the pending rows if the group is complete.
+     * @param file name of the file.
+     * @param line line to be appended, without line separator.
+     * @throws IOException if the file cannot be opened or written.
+     */
+    public synchronized void append(String file, String line) throws IOException {
+        Appender appender = this.appenders.get(file);
+        if (appender == null) {
+            appender = new Appender(file);
+            this.appenders.put(file, appender);
+        }
+
+        appender.writer.write(line);
+        appender.writer.newLine();
+        this.pending++;
+        Metrics.written(encodedLength(line) + System.lineSeparator().length());
+
+        if (this.durability == Durability.SYNC || this.pending >= this.batchSize
+                || System.currentTimeMillis() - this.lastCommit >= this.intervalMillis) {
+            this.commit();
+        } else if (this.flusher == null) {
+            this.startFlusher();
+        }
+    }
+
+    /**
+     * Flushes all pending rows to the operating system, forcing them to disk unless the durability mode is NONE.
+     * @throws IOException if a file cannot be written.
+     */
+    public synchronized void commit() throws IOException {
+        if (this.pending > 0) {
+            for (Appender appender : this.appenders.values()) {
+                appender.writer.flush();
+                if (this.durability != Durability.NONE) {
+                    appender.stream.getFD().sync();
+                }
+            }
+        }
+
+        this.pending = 0;
+        this.lastCommit = System.currentTimeMillis();
+    }
+
+    /**
+     * Commits the pending rows and closes the writer of one file, so that the file can be deleted or rewritten;
+     * a later append opens it again.
+     * @param file name of the file.
+     * @throws IOException if a file cannot be written.
+     */
+    public synchronized void release(String file) throws IOException {
+        this.commit();
+
+        Appender appender = this.appenders.remove(file);
+        if (appender != null) {
+            appender.writer.close();
+        }
+    }
+
+    /**
+     * Commits the pending rows, closes all writers and stops the background commits; a later append opens the
+     * files again.
+     * @throws IOException if a file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.commit();
+
+        for (Appender appender : this.appenders.values()) {
+            appender.writer.close();
+        }
+        this.appenders.clear();
+
+        if (this.flusher != null) {
+            this.flusher.shutdown();
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Counts the bytes a line takes once encoded in UTF-8, the charset of the files, without encoding it.
+     * @param line line of text.
+     * @return length of the line in bytes.
+     */
+    static int encodedLength(String line) {
+        int length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++; // an unpaired surrogate is written as '?'
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Starts the background thread committing pending rows once the commit interval has passed.
+     */
+    private void startFlusher() {
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "append-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(() -> {
+            synchronized (this) {
+                if (this.pending > 0 && System.currentTimeMillis() - this.lastCommit >= this.intervalMillis) {
+                    try {
+                        this.commit();
+                    } catch (IOException e) {
+                        System.err.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+                    }
+                }
+            }
+        }, this.intervalMillis, this.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.project;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class that submits many solutions at once, e.g. all the answers of an exam session to the same quiz. Every
+ * submission is validated against the database the way "-submit-quizz" validates a single one (also rejecting a
+ * second submission of the same user to the same quiz within the batch), the accepted ones are scored in
+ * parallel across cores with fork-join tasks, and their rows are appended to "Solutions.csv" in a single write.
+ */
+public class BulkSubmission {
+
+    /**
+     * Status of an accepted submission; the other statuses are the error codes of User.checkAttempt, plus
+     * LOGIN_FAILED.
+     */
+    public static final int OK = 0;
+    public static final int NO_QUIZ_ID = 1;
+    public static final int NO_QUIZ = 2;
+    public static final int ALREADY_SUBMITTED = 3;
+    public static final int OWN_QUIZ = 4;
+    public static final int LOGIN_FAILED = 5;
+
+    /**
+     * Number of submissions below which a fork-join task scores its range itself instead of splitting it.
+     */
+    private static final int THRESHOLD = 256;
+
+    /**
+     * One submission of a batch.
+     */
+    public static class Submission {
+        private final String username;
+        private final String password;
+        private final int quizId;
+        private final int[] answerIDs;
+
+        /**
+         * Constructor with parameters.
+         * @param username username of the submitting user.
+         * @param password password of the submitting user.
+         * @param quizId ID of the quiz submitted; 0 if none was given.
+         * @param answerIDs IDs of the answers chosen.
+         */
+        public Submission(String username, String password, int quizId, int[] answerIDs) {
+            this.username = username;
+            this.password = password;
+            this.quizId = quizId;
+            this.answerIDs = answerIDs;
+        }
+    }
+
+    /**
+     * Outcome of a batch: the status and score of every submission, in the order they were given.
+     */
+    public static class Result {
+        private final int[] status;
+        private final int[] scores;
+        private int accepted;
+
+        private Result(int size) {
+            this.status = new int[size];
+            this.scores = new int[size];
+        }
+
+        public int getStatus(int i) {
+            return status[i];
+        }
+
+        /**
+         * Gives the score of a submission.
+         * @param i index of the submission in the batch.
+         * @return score of the submission; -1 if it was rejected.
+         */
+        public int getScore(int i) {
+            return status[i] == OK ? scores[i] : -1;
+        }
+
+        public int getAccepted() {
+            return accepted;
+        }
+
+        public int getRejected() {
+            return status.length - accepted;
+        }
+    }
+
+    /**
+     * Fork-join task scoring a range of the accepted submissions.
+     */
+    private static class ScoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Quiz[] quizzes;
+        private final int[][] answerIDs;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        private ScoreTask(Quiz[] quizzes, int[][] answerIDs, int[] scores, int from, int to) {
+            this.quizzes = quizzes;
+            this.answerIDs = answerIDs;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= THRESHOLD) {
+                for (int i = this.from; i < this.to; i++) {
+                    if (this.quizzes[i] != null) {
+                        this.scores[i] = User.score(this.quizzes[i], this.answerIDs[i]);
+                    }
+                }
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new ScoreTask(this.quizzes, this.answerIDs, this.scores, this.from, middle),
+                    new ScoreTask(this.quizzes, this.answerIDs, this.scores, middle, this.to));
+        }
+    }
+
+    /**
+     * Validates, scores and stores a batch of submissions, holding the write lock of the database.
+     * @param db database storing current system information.
+     * @param submissions submissions to be made.
+     * @return status and score of every submission.
+     */
+    public static Result submit(Database db, Submission[] submissions) {
+        db.getLock().writeLock().lock();
+        try {
+            return submitLocked(db, submissions);
+        } finally {
+            db.getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Validates, scores and stores a batch of submissions while the write lock of the database is held.
+     * @param db database storing current system information.
+     * @param submissions submissions to be made.
+     * @return status and score of every submission.
+     */
+    private static Result submitLocked(Database db, Submission[] submissions) {
+        Result result = new Result(submissions.length);
+        User[] users = new User[submissions.length];
+        Quiz[] quizzes = new Quiz[submissions.length];
+        int[][] answerIDs = new int[submissions.length][];
+
+        IdentityHashMap<User, IntSet> submitted = new IdentityHashMap<>();
+        for (int i = 0; i < submissions.length; i++) {
+            Submission submission = submissions[i];
+            User user = new User(submission.username, submission.password).userIsValid(db);
+            Quiz quiz = submission.quizId == 0 ? null : Quiz.isValidID(submission.quizId, db);
+            if (user == null) {
+                result.status[i] = LOGIN_FAILED;
+            } else if (submission.quizId == 0) {
+                result.status[i] = NO_QUIZ_ID;
+            } else if (quiz == null) {
+                result.status[i] = NO_QUIZ;
+            } else if (quiz.isSubmitted(user)
+                    || (submitted.containsKey(user) && submitted.get(user).contains(quiz.getId()))) {
+                result.status[i] = ALREADY_SUBMITTED;
+            } else if (quiz.getUser().equals(user)) {
+                result.status[i] = OWN_QUIZ;
+            } else {
+                submitted.computeIfAbsent(user, u -> new IntSet()).add(quiz.getId());
+                users[i] = user;
+                quizzes[i] = quiz;
+                answerIDs[i] = submission.answerIDs;
+                result.accepted++;
+            }
+        }
+
+        ForkJoinPool.commonPool().invoke(new ScoreTask(quizzes, answerIDs, result.scores, 0, submissions.length));
+
+        User[] solvers = new User[result.accepted];
+        SolvedQuiz[] solutions = new SolvedQuiz[result.accepted];
+        int n = 0;
+        for (int i = 0; i < submissions.length; i++) {
+            if (result.status[i] == OK) {
+                solvers[n] = users[i];
+                solutions[n] = new SolvedQuiz(quizzes[i], result.scores[i]);
+                users[i].appendSolution(solutions[n++]);
+            }
+        }
+        db.addSolutions(solvers, solutions);
+
+        return result;
+    }
+
+    /**
+     * Reads a batch of submissions from a file holding one submission per line, written as
+     * "username,password,quizId,answerId,answerId,...".
+     * @param file name of the file.
+     * @return submissions read, in the order of the lines; a line without a valid quiz ID gives a submission
+     * with quiz ID 0.
+     * @throws IOException if the file cannot be read.
+     */
+    public static Submission[] read(String file) throws IOException {
+        Submission[] submissions = new Submission[0];
+        int count = 0;
+        try (BufferedReader in = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String[] fields = line.split(",");
+                int quizId = 0;
+                int[] answerIDs = new int[Math.max(fields.length - 3, 0)];
+                try {
+                    quizId = fields.length > 2 ? Integer.parseInt(fields[2].trim()) : 0;
+                    for (int i = 0; i < answerIDs.length; i++) {
+                        answerIDs[i] = Integer.parseInt(fields[i + 3].trim());
+                    }
+                } catch (NumberFormatException e) {
+                    quizId = 0;
+                }
+
+                submissions = Database.grow(submissions, count);
+                submissions[count++] = new Submission(fields[0], fields.length > 1 ? fields[1] : "", quizId, answerIDs);
+            }
+        }
+
+        return Arrays.copyOf(submissions, count);
+    }
+
+    /**
+     * Bulk mode: submits all solutions listed in a file and prints the number of submissions accepted and
+     * rejected, with the throughput.
+     * @param db database loaded once for the whole batch.
+     * @param file name of the file holding one submission per line.
+     */
+    public static void run(Database db, String file) {
+        if (file == null || !new File(file).exists()) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Submissions file not found'}");
+            return;
+        }
+
+        Submission[] submissions;
+        try {
+            submissions = read(file);
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Result result = submit(db, submissions);
+        db.sync();
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+
+        System.out.printf("{ 'status' : 'ok', 'message' : '%d submissions accepted, %d rejected in %d ms (%d submissions/sec)'}\n",
+                result.getAccepted(), result.getRejected(), elapsed / 1_000_000, (long) (submissions.length * 1e9 / elapsed));
+    }
+}
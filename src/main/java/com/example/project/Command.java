@@ -1,10 +1,20 @@
 package com.example.project;
 
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntUnaryOperator;
+
 /**
  * Class that deals with the different types of commands supported by the quiz generator.
  */
 public class Command {
 
+    /**
+     * Flag of the argument carrying a session token opened by "-login"; it stands for both the "-u" and the "-p"
+     * arguments, which is why the constructor repeats it in their two positions.
+     */
+    public static final String TOKEN = "-token";
+
     /**
      * Command type
      */
@@ -15,6 +25,11 @@ public class Command {
      */
     private String[] arguments;
 
+    /**
+     * Command line arguments parsed once, read by all handlers of the command.
+     */
+    private Request request;
+
     /**
      * Constructor without parameters.
      */
@@ -27,7 +42,15 @@ public class Command {
      * @param args command line arguments representing a command.
      */
     public Command(String[] args) {
+        if (args.length > 1 && args[1].startsWith(TOKEN)) {
+            String[] expanded = new String[args.length + 1];
+            expanded[0] = args[0];
+            expanded[1] = args[1];
+            System.arraycopy(args, 1, expanded, 2, args.length - 1);
+            args = expanded;
+        }
         this.arguments = args;
+        this.request = new Request(args);
         this.type = args[0];
     }
 
@@ -46,66 +69,135 @@ public class Command {
 
     public void setArguments(String[] arguments) {
         this.arguments = arguments;
+        this.request = new Request(arguments);
+    }
+
+    public Request getRequest() {
+        return request;
+    }
+
+    /**
+     * Resolves the optional "-cursor" and "-page-size" arguments of a listing command into the positions of the
+     * entries to list: the page starts right after the entry whose ID is the cursor (at the beginning if there is
+     * no cursor) and holds at most page-size entries (all remaining ones if there is no page size). The client
+     * passes the ID of the last entry of a page as the cursor for the next one.
+     * @param request arguments of the listing command.
+     * @param total number of entries.
+     * @param firstAfter gives the position of the first entry whose ID is greater than a given ID.
+     * @return start (inclusive) and end (exclusive) positions of the page; null, after printing an error, if an
+     * argument is not a valid number.
+     */
+    public static int[] page(Request request, int total, IntUnaryOperator firstAfter) {
+        int cursor = request.option("-cursor");
+        int pageSize = request.option("-page-size");
+        int start = 0, end = total;
+        try {
+            if (cursor >= 0) {
+                start = firstAfter.applyAsInt(request.intValue(cursor));
+            }
+            if (pageSize >= 0) {
+                int size = request.intValue(pageSize);
+                if (size <= 0) {
+                    throw new NumberFormatException();
+                }
+                end = (int) Math.min(total, (long) start + size);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Invalid page size or cursor'}");
+            return null;
+        }
+
+        return new int[]{start, end};
+    }
+
+    /**
+     * Splits a single command line into the arguments the shell would have passed to Tema1.main: the command
+     * name followed by one "-flag 'value'" string per argument. A new argument starts at every "-" that follows
+     * whitespace outside of single quotes, so quoted values may contain spaces.
+     * @param line command line, e.g. "-create-user -u 'name' -p 'password'".
+     * @return Command built from the line; null if the line is blank.
+     */
+    public static Command parse(String line) {
+        String[] args = new String[8];
+        int count = 0;
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (!quoted && Character.isWhitespace(c) && i + 1 < line.length() && line.charAt(i + 1) == '-'
+                    && current.toString().trim().length() > 0) {
+                args = Database.grow(args, count);
+                args[count++] = current.toString().trim();
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+
+        if (current.toString().trim().length() > 0) {
+            args = Database.grow(args, count);
+            args[count++] = current.toString().trim();
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        return new Command(Arrays.copyOf(args, count));
     }
 
 
     /**
-     * Triggers the specific actions associated with each type of command.
+     * Triggers the specific actions associated with each type of command, as registered in CommandRegistry, and
+     * records how long the command took in the metrics. Commands that only read the database hold its read lock,
+     * so any number of them can run at the same time from different threads; the others hold its write lock and
+     * run alone. Commands requiring authentication log their user in once, before their handler runs.
      * @param db the Database object that will keep the information created in the system as a result
      *           of each command.
      */
     public void interpreter(Database db) {
-        switch (this.type) {
-            case "-create-user":
-                this.userAction(db);
-                break;
-            case "-create-question":
-                this.questionAction(db);
-                break;
-            case "-get-question-id-by-text":
-                Question.find(this, db);
-                break;
-            case "-get-all-questions":
-                Question.findAll(this, db);
-                break;
-            case "-create-quizz":
-                this.quizAction(db);
-                break;
-            case "-get-quizz-by-name":
-                Quiz.find(this.arguments, db);
-                break;
-            case "-get-all-quizzes":
-                Quiz.findAll(this.arguments, db);
-                break;
-            case "-get-quizz-details-by-id":
-                Quiz.getDetails(this.arguments, db);
-                break;
-            case "-submit-quizz":
-                User.submitQuiz(this.arguments, db);
-                break;
-            case "-delete-quizz-by-id":
-                Quiz.deleteQuiz(this.arguments, db);
-                break;
-            case "-get-my-solutions":
-                User.showSolutions(this.arguments, db);
-                break;
-            case "-cleanup-all":
-                db.cleanup();
-                break;
+        long start = System.nanoTime();
+        CommandRegistry.Entry entry = CommandRegistry.find(this.type);
+        if (entry == null) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Unknown command'}");
+            Metrics.record(this.type, System.nanoTime() - start);
+            return;
+        }
+
+        Lock lock = entry.isReadOnly() ? db.getLock().readLock() : db.getLock().writeLock();
+        lock.lock();
+        try {
+            User user = entry.isAuthRequired() ? User.login(this.request, db) : null;
+            if (!entry.isAuthRequired() || user != null) {
+                entry.getHandler().handle(this, user, db);
+            }
+        } finally {
+            lock.unlock();
+            Metrics.record(this.type, System.nanoTime() - start);
         }
     }
 
+    /**
+     * Checks whether a command type only reads the database.
+     * @param type command type.
+     * @return true if commands of this type never modify the database; false otherwise.
+     */
+    public static boolean isReadOnly(String type) {
+        return CommandRegistry.isReadOnly(type);
+    }
+
     /**
      * Treats the possible error cases related to user creation.
      * @param db database in use for information storage in the system.
      */
     public void userAction(Database db) {
-        String[] args = this.arguments;
         switch (this.userCheckValidity()) {
             case 0:
-                String username = args[1].split("'")[1];
-                String password = args[2].split("'")[1];
-                User.create(username, password, db);
+                User.create(this.request.value(1), this.request.value(2), db);
                 break;
             case 1:
                 System.out.println("{ 'status' : 'error', 'message' : 'Please provide username'}");
@@ -122,28 +214,26 @@ public class Command {
      * @return 1 if no username is provided; 2 if no password is provided; 0 if both are provided.
      */
     public int userCheckValidity() {
-        String[] args = this.arguments;
-        switch (args.length) {
+        Request request = this.request;
+        switch (request.size()) {
             case 1:
                 return 1;
 
             case 2:
-                switch (args[1].split(" ")[0]) {
-                    case "-u":
-                        return 2;
-
-                    case "-p":
-                        return 1;
-
+                if (request.is(1, "-u")) {
+                    return 2;
+                }
+                if (request.is(1, "-p")) {
+                    return 1;
                 }
                 break;
 
 
             case 3:
-                if (!args[1].split(" ")[0].equals("-u") || args[1].split(" ").length == 1) {
+                if (!request.is(1, "-u") || !request.hasValue(1)) {
                     return 1;
                 }
-                if (!args[2].split(" ")[0].equals("-p") || args[2].split(" ").length == 1) {
+                if (!request.is(2, "-p") || !request.hasValue(2)) {
                     return 2;
                 }
                 break;
@@ -159,10 +249,6 @@ public class Command {
      * @param db database in use for information storage in the system.
      */
     public void questionAction(Database db) {
-        String[] args = this.arguments;
-        if (User.login(args, db) == null) {
-            return;
-        }
         switch (this.questionCheckValidity()) {
             case 0:
                 Question.create(this, db);
@@ -196,21 +282,21 @@ public class Command {
      * if all previous checks succeeded;
      */
     public int questionCheckValidity() {
-        String[] args = this.arguments;
+        Request request = this.request;
 
-        if (args.length == 5) {
+        if (request.size() == 5) {
             return 1;
         }
 
-        if (args.length == 6 || args.length == 7) {
+        if (request.size() == 6 || request.size() == 7) {
             return 2;
         }
 
-        if (args.length > 15) {
+        if (request.size() > 15) {
             return 3;
         }
 
-        if (args.length == 3 || !args[3].split(" ")[0].equals("-text") || args[3].split(" ").length == 1) {
+        if (!request.is(3, "-text") || !request.hasValue(3)) {
             return 4;
         }
 
@@ -223,29 +309,26 @@ public class Command {
      * counted for a question marked "single"; 6 if there are two answers with the same text; 0 if all checks succeed.
      */
     public int answersValidity() {
-        String[] args = this.arguments;
-        String type = args[4].split("'")[1];
+        Request request = this.request;
 
         String[] answers = new String[5];
         int ansCount = 0, correctCount = 0;
-        for (int i = 5; i < args.length; i++) {
-            String[] currentAnswer = args[i].split("'");
-            if (!currentAnswer[0].trim().equals("-answer-" + (ansCount + 1)) || currentAnswer.length == 1) {
+        for (int i = 5; i < request.size(); i++) {
+            if (!request.is(i, "-answer-", ansCount + 1, "") || !request.hasValue(i)) {
                 System.out.printf("{ 'status' : 'error', 'message' : 'Answer %d has no answer description'}\n", ansCount + 1);
                 return -1;
             }
-            answers[ansCount++] = currentAnswer[1];
+            answers[ansCount++] = request.value(i);
 
             i++;
-            String[] flags = args[i].split("'");
-            if (i >= args.length || !flags[0].trim().equals("-answer-" + ansCount + "-is-correct") || flags.length == 1) {
+            if (!request.is(i, "-answer-", ansCount, "-is-correct") || !request.hasValue(i)) {
                 System.out.printf("{ 'status' : 'error', 'message' : 'Answer %d has no answer correct flag'}\n", ansCount);
                 return -1;
             }
-            correctCount += Integer.parseInt(flags[1]);
+            correctCount += request.intValue(i);
         }
 
-        if (type.equals("single") && correctCount > 1) {
+        if (request.valueEquals(4, "single") && correctCount > 1) {
             return 5;
         }
 
@@ -262,16 +345,13 @@ public class Command {
 
     /**
      * Treats the possible error cases related to quiz creation.
+     * @param user user creating the quiz, already logged in.
      * @param db database in use for information storage in the system.
      */
-    public void quizAction(Database db) {
-        String[] args = this.arguments;
-        if (User.login(args, db) == null) {
-            return;
-        }
+    public void quizAction(User user, Database db) {
         switch (this.quizCheckValidity()) {
             case 0:
-                Quiz.create(args, db);
+                Quiz.create(user, this.request, db);
                 break;
             case 1:
                 System.out.println("{ 'status' : 'error', 'message' : 'Quizz has more than 10 questions'}");
@@ -286,7 +366,7 @@ public class Command {
      */
     public int quizCheckValidity() {
 
-        if (this.arguments.length > 14) {
+        if (this.request.size() > 14) {
             return 1;
         }
 
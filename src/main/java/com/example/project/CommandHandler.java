@@ -0,0 +1,17 @@
+package com.example.project;
+
+/**
+ * Handler of one type of command, registered in CommandRegistry together with the metadata telling
+ * Command.interpreter how to run it.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+
+    /**
+     * Runs a command.
+     * @param command command to run, with its parsed arguments.
+     * @param user user the command was authenticated as; null for commands that do not require authentication.
+     * @param db database the command is run against.
+     */
+    void handle(Command command, User user, Database db);
+}
@@ -0,0 +1,113 @@
+package com.example.project;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class that maps the name of every command type (e.g. "-get-all-quizzes") to its handler and to the metadata
+ * Command.interpreter runs it by: whether it requires authentication, in which case the user is logged in once
+ * before the handler runs and handed to it, and whether it only reads the database, in which case it runs under
+ * the read lock of the database, concurrently with other read-only commands, instead of alone under the write lock.
+ * The commands of the quiz generator are registered when the class is loaded; more can be added with register,
+ * in any mode (one-shot, daemon, batch or server), without touching Command.
+ */
+public class CommandRegistry {
+
+    /**
+     * Registered command type.
+     */
+    public static class Entry {
+        private final String name;
+        private final boolean authRequired;
+        private final boolean readOnly;
+        private final CommandHandler handler;
+
+        private Entry(String name, boolean authRequired, boolean readOnly, CommandHandler handler) {
+            this.name = name;
+            this.authRequired = authRequired;
+            this.readOnly = readOnly;
+            this.handler = handler;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isAuthRequired() {
+            return authRequired;
+        }
+
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
+        public CommandHandler getHandler() {
+            return handler;
+        }
+    }
+
+    private static final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    static {
+        register("-create-user", false, false, (command, user, db) -> command.userAction(db));
+        register("-create-question", true, false, (command, user, db) -> command.questionAction(db));
+        register("-get-question-id-by-text", true, true, (command, user, db) -> Question.find(command, db));
+        register("-get-all-questions", true, true, (command, user, db) -> Question.findAll(command, db));
+        register("-create-quizz", true, false, (command, user, db) -> command.quizAction(user, db));
+        register("-get-quizz-by-name", true, true, (command, user, db) -> Quiz.find(command.getRequest(), db));
+        register("-get-all-quizzes", true, true, (command, user, db) -> Quiz.findAll(user, command.getRequest(), db));
+        register("-get-quizz-details-by-id", true, true,
+                (command, user, db) -> Quiz.getDetails(command.getRequest(), db));
+        register("-submit-quizz", true, false,
+                (command, user, db) -> User.submitQuiz(user, command.getRequest(), db));
+        register("-delete-quizz-by-id", true, false,
+                (command, user, db) -> Quiz.deleteQuiz(user, command.getRequest(), db));
+        register("-get-my-solutions", true, true, (command, user, db) -> User.showSolutions(user, db));
+        register("-save-snapshot", false, false, (command, user, db) -> Snapshot.save(db));
+        register("-dump-metrics", false, true, (command, user, db) -> Metrics.dump());
+        register("-login", false, false, (command, user, db) -> User.openSession(command.getRequest(), db));
+        register("-logout", false, false, (command, user, db) -> User.closeSession(command.getRequest(), db));
+        register("-cleanup-all", false, false, (command, user, db) -> {
+            db.cleanup();
+            System.out.println("{ 'status' : 'ok', 'message' : 'Cleanup finished successfully'}");
+        });
+    }
+
+    /**
+     * Registers a command type, replacing any handler previously registered under the same name.
+     * @param name name of the command type, e.g. "-get-all-quizzes".
+     * @param authRequired whether the command must be authenticated ("-u" and "-p", or "-token") before it runs.
+     * @param readOnly whether the command never modifies the database.
+     * @param handler handler running the command.
+     */
+    public static void register(String name, boolean authRequired, boolean readOnly, CommandHandler handler) {
+        entries.put(name, new Entry(name, authRequired, readOnly, handler));
+    }
+
+    /**
+     * Removes a command type, so that commands of that type are answered as unknown.
+     * @param name name of the command type.
+     * @return true if a command type was registered under the name; false otherwise.
+     */
+    public static boolean unregister(String name) {
+        return entries.remove(name) != null;
+    }
+
+    /**
+     * Finds a registered command type.
+     * @param name name of the command type.
+     * @return entry of the command type; null if no command type is registered under the name.
+     */
+    public static Entry find(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Checks whether a command type only reads the database.
+     * @param name name of the command type.
+     * @return true if the command type is registered as read-only; false otherwise.
+     */
+    public static boolean isReadOnly(String name) {
+        Entry entry = entries.get(name);
+        return entry != null && entry.readOnly;
+    }
+}
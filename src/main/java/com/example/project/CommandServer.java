@@ -0,0 +1,373 @@
+package com.example.project;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Class that serves commands over TCP on the loopback interface against one resident database. The protocol is
+ * the one of daemon mode: a client sends one command per line (e.g. "-get-all-quizzes -u 'name' -p 'password'")
+ * and receives exactly one response line per command, until it closes the connection or sends "-exit".
+ *
+ * Every connection is handled by its own virtual thread when the JVM supports them (Java 21 and later); on the
+ * project's Java 17 target, and any JVM before 21, by a platform thread of a cached pool. Commands print their
+ * responses to System.out, which the server replaces with a stream handing every call over to the writer of the
+ * connection the calling thread is handling, so connections never wait for each other to print; the database lock taken
+ * by Command.interpreter lets read-only commands of different connections run in parallel. A command that fails is
+ * answered with an error and the connection goes on. The original System.out is put back once every server of the JVM
+ * is closed and its connections have ended.
+ */
+public class CommandServer implements Closeable {
+
+    /**
+     * Print stream installed as System.out, handing every call over to the print stream registered for the current
+     * thread (the writer of its connection), or to the original standard output for threads without one. It never
+     * takes its own lock, so threads printing to different connections do not serialize on the shared System.out.
+     */
+    private static class RoutingPrintStream extends PrintStream {
+        private static final ThreadLocal<PrintStream> target = new ThreadLocal<>();
+        private final PrintStream fallback;
+
+        private RoutingPrintStream(PrintStream fallback) {
+            super(fallback, false);
+            this.fallback = fallback;
+        }
+
+        private PrintStream current() {
+            PrintStream out = target.get();
+            return out == null ? this.fallback : out;
+        }
+
+        @Override
+        public void write(int b) {
+            this.current().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.current().write(b, off, len);
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            this.current().write(b);
+        }
+
+        @Override
+        public void writeBytes(byte[] b) {
+            this.current().writeBytes(b);
+        }
+
+        @Override
+        public void flush() {
+            this.current().flush();
+        }
+
+        @Override
+        public boolean checkError() {
+            return this.current().checkError();
+        }
+
+        @Override
+        public void print(boolean b) {
+            this.current().print(b);
+        }
+
+        @Override
+        public void print(char c) {
+            this.current().print(c);
+        }
+
+        @Override
+        public void print(int i) {
+            this.current().print(i);
+        }
+
+        @Override
+        public void print(long l) {
+            this.current().print(l);
+        }
+
+        @Override
+        public void print(float f) {
+            this.current().print(f);
+        }
+
+        @Override
+        public void print(double d) {
+            this.current().print(d);
+        }
+
+        @Override
+        public void print(char[] s) {
+            this.current().print(s);
+        }
+
+        @Override
+        public void print(String s) {
+            this.current().print(s);
+        }
+
+        @Override
+        public void print(Object obj) {
+            this.current().print(obj);
+        }
+
+        @Override
+        public void println() {
+            this.current().println();
+        }
+
+        @Override
+        public void println(boolean x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(char x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(int x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(long x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(float x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(double x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(char[] x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(String x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public void println(Object x) {
+            this.current().println(x);
+        }
+
+        @Override
+        public PrintStream printf(String format, Object... args) {
+            this.current().printf(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream printf(Locale l, String format, Object... args) {
+            this.current().printf(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(String format, Object... args) {
+            this.current().format(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(Locale l, String format, Object... args) {
+            this.current().format(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq) {
+            this.current().append(csq);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq, int start, int end) {
+            this.current().append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(char c) {
+            this.current().append(c);
+            return this;
+        }
+    }
+
+    private static PrintStream routedOut;
+
+    /**
+     * System.out as it was before the routing stream replaced it, and the number of open servers and connections
+     * relying on the routing stream.
+     */
+    private static PrintStream originalOut;
+    private static int routingUsers = 0;
+
+    private final Database db;
+    private final ServerSocket socket;
+    private final ExecutorService executor;
+    private boolean closed = false;
+
+    /**
+     * Constructor with parameters; binds the server socket.
+     * @param db database the commands are run against, already connected.
+     * @param port port to listen on, on the loopback interface; 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public CommandServer(Database db, int port) throws IOException {
+        this.db = db;
+        this.socket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.executor = newExecutor();
+        retainRouting();
+    }
+
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Creates an executor running every task on a new virtual thread; on JVMs without virtual threads, an executor
+     * running tasks on a cached pool of daemon platform threads.
+     * @return the executor.
+     */
+    public static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "command-server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Replaces System.out with the routing stream when the first server is opened.
+     */
+    private static synchronized void retainRouting() {
+        if (routingUsers++ == 0) {
+            originalOut = System.out;
+            routedOut = new RoutingPrintStream(originalOut);
+            System.setOut(routedOut);
+        }
+    }
+
+    /**
+     * Puts the original System.out back once the last server is closed and the last connection has ended, unless
+     * System.out was replaced again in the meantime.
+     */
+    private static synchronized void releaseRouting() {
+        if (--routingUsers == 0) {
+            if (System.out == routedOut) {
+                System.setOut(originalOut);
+            }
+            routedOut = null;
+            originalOut = null;
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed, handing each one to the executor.
+     */
+    public void serve() {
+        while (!this.socket.isClosed()) {
+            try {
+                Socket connection = this.socket.accept();
+                retainRouting();
+                try {
+                    this.executor.execute(() -> this.handle(connection));
+                } catch (RejectedExecutionException e) {
+                    releaseRouting();
+                    connection.close();
+                }
+            } catch (SocketException e) {
+                break;
+            } catch (IOException e) {
+                System.err.println("{ 'status' : 'error', 'message' : 'Could not accept connection'}");
+            }
+        }
+    }
+
+    /**
+     * Accepts connections on a background thread.
+     * @return the server.
+     */
+    public CommandServer start() {
+        Thread thread = new Thread(this::serve, "command-server");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Runs the commands received on a connection, sending their responses back on it through a print stream of
+     * its own; Tema1.run answers a failing command with an error and goes on with the next one.
+     * @param connection connection with a client.
+     */
+    private void handle(Socket connection) {
+        boolean released = false;
+        try (Socket client = connection;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             PrintStream out = new PrintStream(new BufferedOutputStream(client.getOutputStream(), 1 << 13), false,
+                     StandardCharsets.UTF_8)) {
+            RoutingPrintStream.target.set(out);
+            try {
+                Tema1.run(this.db, in, true);
+            } finally {
+                // released before the connection is closed, so a client that saw it end sees System.out restored
+                RoutingPrintStream.target.remove();
+                releaseRouting();
+                released = true;
+            }
+        } catch (IOException e) {
+            // the client went away; nothing to answer
+        } finally {
+            if (!released) {
+                releaseRouting();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections; connections already open are served until their clients close them, and
+     * System.out is restored after the last of them if no other server is open.
+     * @throws IOException if the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+
+        try {
+            this.socket.close();
+        } finally {
+            this.executor.shutdown();
+            releaseRouting();
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package com.example.project;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * Class that keeps the information about the system at any given point during runtime.
+ * Class that keeps the information about the system at any given point during runtime. The entity arrays grow
+ * by doubling, so only their first noUsers/noQuestions/noQuizzes slots are in use.
  */
 public class Database {
 
+    /**
+     * Total size of the CSV files from which connect() switches to the memory-mapped loader.
+     */
+    static final long MAPPED_THRESHOLD = 16L << 20;
+
+    /**
+     * Share of dead (deleted) quizzes among the quiz rows of the files above which the files are compacted.
+     */
+    static final double COMPACTION_RATIO = 0.5;
+
     User[] users;
     Question[] questions;
     Quiz[] quizzes;
@@ -15,10 +35,84 @@ public class Database {
     private int noQuestions;
     private int noQuizzes;
 
+    /**
+     * Registered users indexed by username; kept in sync with the users array.
+     */
+    private final HashMap<String, User> usersByName;
+
+    /**
+     * Questions indexed by ID; kept in sync with the questions array.
+     */
+    private final HashMap<Integer, Question> questionsById;
+
+    /**
+     * Quizzes indexed by ID; kept in sync with the quizzes array.
+     */
+    private final HashMap<Integer, Quiz> quizzesById;
+
+    /**
+     * Questions indexed by text; kept in sync with the questions array.
+     */
+    private final HashMap<String, Question> questionsByText;
+
+    /**
+     * Quizzes indexed by name; kept in sync with the quizzes array.
+     */
+    private final HashMap<String, Quiz> quizzesByName;
+
+    /**
+     * IDs of the deleted quizzes whose rows are still in the files, as read from the tombstones in "Deleted.csv".
+     */
+    private final HashSet<Integer> deletedQuizzes;
+
+    /**
+     * Appender through which every new row reaches the CSV files.
+     */
+    private final AppendLog log;
+
+    /**
+     * Lock letting many commands read the database at the same time while commands that modify it run alone;
+     * taken by Command.interpreter for every command, according to its type.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Sessions opened by "-login" against this database.
+     */
+    private final SessionTable sessions = new SessionTable();
+
+    /**
+     * Length of "Solutions.csv" when its loading was deferred: the rows up to there are loaded user by user, the
+     * first time the solutions of a user are needed (see loadSolutions); 0 when there are none left to load.
+     */
+    private long deferredSolutionsLength = 0;
+
+    /**
+     * Number of users whose solutions are still to be loaded.
+     */
+    private int pendingUsers = 0;
+
+    /**
+     * Whether the rows of the deferred solutions were already assigned to their users.
+     */
+    private boolean solutionsIndexed = false;
+
+    /**
+     * Channel the deferred solutions are read through, open while some of them are still to be loaded.
+     */
+    private FileChannel solutionsChannel;
+
     /**
      * Constructor with no parameters that initialises all fields.
      */
     public Database() {
+        this.usersByName = new HashMap<>();
+        this.questionsById = new HashMap<>();
+        this.quizzesById = new HashMap<>();
+        this.questionsByText = new HashMap<>();
+        this.quizzesByName = new HashMap<>();
+        this.deletedQuizzes = new HashSet<>();
+        this.log = new AppendLog();
         this.users = new User[0];
         this.questions = new Question[0];
         this.quizzes = new Quiz[0];
@@ -27,6 +121,14 @@ public class Database {
         noQuizzes = 0;
     }
 
+    public ReentrantReadWriteLock getLock() {
+        return lock;
+    }
+
+    public SessionTable getSessions() {
+        return sessions;
+    }
+
     public int getNoUsers() {
         return noUsers;
     }
@@ -52,13 +154,59 @@ public class Database {
     }
 
     /**
-     * Attempts to read data from all files in the system to populate each specific structure.
+     * Attempts to read data from all files in the system to populate each specific structure: from the binary
+     * snapshot if one exists and is up to date with the CSV files, from the CSV files otherwise (through memory
+     * mappings once they are large enough for the mapping set-up cost not to matter).
      */
     public void connect() {
+        this.readDeleted();
+        if (Snapshot.load(this, Snapshot.FILE)) {
+            return;
+        }
+
+        long csvSize = new File("Users.csv").length() + new File("Questions.csv").length()
+                + new File("Quizzes.csv").length() + new File("Solutions.csv").length();
+        if (csvSize >= MAPPED_THRESHOLD) {
+            this.readMapped();
+        } else {
+            this.readCsv();
+        }
+    }
+
+    /**
+     * Populates each specific structure by parsing the CSV files; the solutions are only loaded when needed
+     * (see deferSolutions).
+     */
+    public void readCsv() {
         this.readUsers();
         this.readQuestions();
         this.readQuizzes();
-        this.readSolutions();
+        this.deferSolutions();
+    }
+
+    /**
+     * Reads the tombstones of deleted quizzes from a "Deleted.csv" file, one quiz ID per line; the rows of these
+     * quizzes and their solutions are skipped by the loaders.
+     */
+    public void readDeleted() {
+        if (!new File("Deleted.csv").exists()) {
+            return;
+        }
+        Metrics.read(new File("Deleted.csv").length());
+        try (BufferedReader br = new BufferedReader(new FileReader("Deleted.csv", StandardCharsets.UTF_8))) {
+            String line;
+            long rows = 0;
+            while ((line = br.readLine()) != null) {
+                rows++;
+                int id = Integer.parseInt(line);
+                this.deletedQuizzes.add(id);
+                Quiz.reserveId(id);
+            }
+            Metrics.scanned(rows);
+
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+        }
     }
 
     /**
@@ -69,15 +217,17 @@ public class Database {
         if (!new File("Users.csv").exists()) {
             return;
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(("Users.csv")))) {
+        Metrics.read(new File("Users.csv").length());
+        try (BufferedReader br = new BufferedReader(new FileReader("Users.csv", StandardCharsets.UTF_8))) {
             String line;
+            long rows = 0;
             while ((line = br.readLine()) != null) {
+                rows++;
                 String readUsername = line.split(",")[0];
                 String readPassword = line.split(",")[1];
-                User user = new User(readUsername, readPassword);
-                this.users = Arrays.copyOf(this.users, this.users.length + 1);
-                this.users[noUsers++] = user;
+                this.putUser(new User(readUsername, readPassword));
             }
+            Metrics.scanned(rows);
 
         } catch (IOException e) {
             System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
@@ -92,12 +242,16 @@ public class Database {
         if (!new File("Questions.csv").exists()) {
             return;
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(("Questions.csv")))) {
+        Metrics.read(new File("Questions.csv").length());
+        try (BufferedReader br = new BufferedReader(new FileReader("Questions.csv", StandardCharsets.UTF_8))) {
             String line;
+            long rows = 0;
             int ansCount = 1;
             while ((line = br.readLine()) != null) {
+                rows++;
                 String[] split = line.split(",");
                 int id = Integer.parseInt(split[0]);
+                Question.reserveId(id);
                 String text = split[1], type = split[2];
                 int noAnswers = (split.length - 3) / 2;
                 Answer[] answers = new Answer[noAnswers];
@@ -105,13 +259,13 @@ public class Database {
                 for (int i = 3; i < split.length; i++) {
                     String ansText = split[i++];
                     boolean ansFlag = split[i].equals("true") ? true : false;
+                    Answer.reserveId(ansCount);
                     Answer newAnswer = new Answer(ansCount++, ansText, ansFlag);
                     answers[count++] = newAnswer;
                 }
-                Question question = new Question(id, text, type, answers);
-                this.questions = Arrays.copyOf(this.questions, this.questions.length + 1);
-                this.questions[noQuestions++] = question;
+                this.putQuestion(new Question(id, text, type, answers));
             }
+            Metrics.scanned(rows);
 
         } catch (IOException e) {
             System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
@@ -126,26 +280,27 @@ public class Database {
         if (!new File("Quizzes.csv").exists()) {
             return;
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(("Quizzes.csv")))) {
+        Metrics.read(new File("Quizzes.csv").length());
+        try (BufferedReader br = new BufferedReader(new FileReader("Quizzes.csv", StandardCharsets.UTF_8))) {
             String line;
+            long rows = 0;
             while ((line = br.readLine()) != null) {
+                rows++;
                 String[] split = line.split(",");
                 int id = Integer.parseInt(split[0]);
+                Quiz.reserveId(id);
+                if (this.deletedQuizzes.contains(id)) {
+                    continue;
+                }
                 String username = split[1], password = split[2], name = split[3];
                 User user = new User(username, password);
                 Question[] questions = new Question[split.length - 4];
                 for (int i = 4; i < split.length; i++) {
-                    int qid = Integer.parseInt(split[i]);
-                    for (int j = 0; j < noQuestions; j++) {
-                        if (qid == this.questions[j].getId()) {
-                            questions[i - 4] = this.questions[j];
-                        }
-                    }
+                    questions[i - 4] = this.findQuestion(Integer.parseInt(split[i]));
                 }
-                Quiz quiz = new Quiz(id, user, name, questions);
-                this.quizzes = Arrays.copyOf(this.quizzes, this.quizzes.length + 1);
-                this.quizzes[noQuizzes++] = quiz;
+                this.putQuiz(new Quiz(id, user, name, questions));
             }
+            Metrics.scanned(rows);
 
         } catch (IOException e) {
             System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
@@ -160,38 +315,309 @@ public class Database {
         if (!new File("Solutions.csv").exists()) {
             return;
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(("Solutions.csv")))) {
+        Metrics.read(new File("Solutions.csv").length());
+        try (BufferedReader br = new BufferedReader(new FileReader("Solutions.csv", StandardCharsets.UTF_8))) {
             String line;
+            long rows = 0;
             while ((line = br.readLine()) != null) {
+                rows++;
                 String[] split = line.split(",");
                 String username = split[0];
                 int qId = Integer.parseInt(split[1]);
                 int score = Integer.parseInt(split[2]);
 
-                User user = new User(username, "unk");
-                user = user.alreadyExists(this);
+                User user = this.findUser(username);
+                Quiz quiz = Quiz.isValidID(qId, this);
+                if (user == null || quiz == null) {
+                    continue;
+                }
+                SolvedQuiz solution = new SolvedQuiz(quiz, score);
+                user.appendSolution(solution);
+            }
+            Metrics.scanned(rows);
+
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+        }
+    }
+
+    /**
+     * Populates each specific structure from the CSV files through memory-mapped reads, parsing the fields
+     * straight from the mapped bytes instead of decoding whole lines and splitting them into arrays. The files
+     * have the same formats as for readUsers, readQuestions and readQuizzes; the solutions are only loaded when
+     * needed (see deferSolutions).
+     */
+    public void readMapped() {
+        try {
+            if (new File("Users.csv").exists()) {
+                try (MappedCsvReader reader = new MappedCsvReader("Users.csv")) {
+                    while (reader.nextLine()) {
+                        this.putUser(new User(reader.nextString(), reader.nextString()));
+                    }
+                }
+            }
+
+            if (new File("Questions.csv").exists()) {
+                try (MappedCsvReader reader = new MappedCsvReader("Questions.csv")) {
+                    int ansCount = 1;
+                    Answer[] answers = new Answer[8];
+                    while (reader.nextLine()) {
+                        int id = reader.nextInt();
+                        Question.reserveId(id);
+                        String text = reader.nextString(), type = reader.nextString();
+                        int noAnswers = 0;
+                        while (reader.hasField()) {
+                            String ansText = reader.nextString();
+                            answers = grow(answers, noAnswers);
+                            Answer.reserveId(ansCount);
+                            answers[noAnswers++] = new Answer(ansCount++, ansText, reader.nextBoolean());
+                        }
+                        this.putQuestion(new Question(id, text, type, Arrays.copyOf(answers, noAnswers)));
+                    }
+                }
+            }
+
+            if (new File("Quizzes.csv").exists()) {
+                try (MappedCsvReader reader = new MappedCsvReader("Quizzes.csv")) {
+                    Question[] questions = new Question[16];
+                    while (reader.nextLine()) {
+                        int id = reader.nextInt();
+                        Quiz.reserveId(id);
+                        if (this.deletedQuizzes.contains(id)) {
+                            continue;
+                        }
+                        User user = new User(reader.nextString(), reader.nextString());
+                        String name = reader.nextString();
+                        int noQuestions = 0;
+                        while (reader.hasField()) {
+                            questions = grow(questions, noQuestions);
+                            questions[noQuestions++] = this.findQuestion(reader.nextInt());
+                        }
+                        this.putQuiz(new Quiz(id, user, name, Arrays.copyOf(questions, noQuestions)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+        }
+        this.deferSolutions();
+    }
+
+    /**
+     * Defers loading "Solutions.csv" until the solutions of a user are first needed, so that commands which never
+     * look at solutions do not pay for reading them: every user loaded so far is marked as having solutions still
+     * to be loaded.
+     */
+    void deferSolutions() {
+        long length = new File("Solutions.csv").length();
+        if (length == 0 || noUsers == 0) {
+            return;
+        }
 
-                SolvedQuiz solution = new SolvedQuiz(Quiz.isValidID(qId, this), score);
-                user.setSolutions(Arrays.copyOf(user.getSolutions(), user.getSolutions().length + 1));
-                user.setSolutionsIndex(user.getSolCount(), solution);
-                user.setSolCount(user.getSolCount() + 1);
+        synchronized (this) {
+            this.deferredSolutionsLength = length;
+            this.solutionsIndexed = false;
+            this.pendingUsers = noUsers;
+            for (int i = 0; i < noUsers; i++) {
+                this.users[i].deferSolutions(this);
             }
+        }
+    }
+
+    /**
+     * Loads the deferred solutions of a user by reading only the user's rows of "Solutions.csv"; the first call
+     * scans the file once to find the rows of every user. Rows of deleted quizzes are skipped.
+     * @param user user whose solutions are loaded.
+     */
+    synchronized void loadSolutions(User user) {
+        if (!user.hasPendingSolutions()) {
+            return;
+        }
+
+        try {
+            if (this.solutionsChannel == null) {
+                this.solutionsChannel = FileChannel.open(new File("Solutions.csv").toPath(), StandardOpenOption.READ);
+            }
+            if (!this.solutionsIndexed) {
+                this.indexSolutions();
+            }
+
+            long[] rows = user.getSolutionRows();
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            for (int i = 0; i < user.getNoSolutionRows(); i++) {
+                int length = (int) (rows[i] & 0xFFFFF);
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocate(length);
+                }
+                buffer.clear().limit(length);
+                long position = rows[i] >>> 20;
+                while (buffer.hasRemaining() && this.solutionsChannel.read(buffer, position + buffer.position()) > 0) {
+                    // keep reading until the whole row is in the buffer
+                }
 
+                int field = 0, quizId = 0, score = 0;
+                boolean negative = false;
+                for (int j = 0; j < buffer.position(); j++) {
+                    byte b = buffer.get(j);
+                    if (b == ',') {
+                        field++;
+                    } else if (field == 1 && b >= '0' && b <= '9') {
+                        quizId = quizId * 10 + (b - '0');
+                    } else if (field == 2 && b == '-') {
+                        negative = true;
+                    } else if (field == 2 && b >= '0' && b <= '9') {
+                        score = score * 10 + (b - '0');
+                    }
+                }
+                Quiz quiz = this.findQuiz(quizId);
+                if (quiz != null) {
+                    user.loadSolution(new SolvedQuiz(quiz, negative ? -score : score));
+                }
+            }
+            Metrics.scanned(user.getNoSolutionRows());
         } catch (IOException e) {
             System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
         }
+
+        user.deferSolutions(null);
+        if (--this.pendingUsers <= 0) {
+            this.forgetSolutions();
+        }
+    }
+
+    /**
+     * Scans the deferred part of "Solutions.csv" once, recording the position and length of every row in the
+     * user it belongs to; only the username of each row is decoded.
+     * @throws IOException if the file cannot be read.
+     */
+    private void indexSolutions() throws IOException {
+        Metrics.read(this.deferredSolutionsLength);
+        try (InputStream in = new BufferedInputStream(new FileInputStream("Solutions.csv"), 1 << 16)) {
+            byte[] name = new byte[64];
+            long position = 0, start = 0, rows = 0;
+            int nameLength = 0;
+            boolean inName = true;
+            User user = null;
+            int b;
+            while (position < this.deferredSolutionsLength && (b = in.read()) >= 0) {
+                position++;
+                if (b == '\n') {
+                    int length = (int) (position - 1 - start);
+                    if (length > 0 && user != null && user.hasPendingSolutions()) {
+                        user.addSolutionRow(start << 20 | Math.min(length, 0xFFFFF));
+                    }
+                    start = position;
+                    nameLength = 0;
+                    inName = true;
+                    user = null;
+                    rows++;
+                } else if (inName && b == ',') {
+                    user = this.findUser(new String(name, 0, nameLength, StandardCharsets.UTF_8));
+                    inName = false;
+                } else if (inName) {
+                    name = nameLength < name.length ? name : Arrays.copyOf(name, name.length * 2);
+                    name[nameLength++] = (byte) b;
+                }
+            }
+            Metrics.scanned(rows);
+        }
+        this.solutionsIndexed = true;
+    }
+
+    /**
+     * Loads the deferred solutions of all users, before the solutions are rewritten (compaction) or saved
+     * (snapshot) as a whole.
+     */
+    public void loadAllSolutions() {
+        for (int i = 0; i < noUsers; i++) {
+            this.users[i].ensureSolutions();
+        }
+    }
+
+    /**
+     * Closes the channel of the deferred solutions; it is opened again if more of them are loaded later.
+     */
+    private synchronized void closeSolutions() {
+        if (this.solutionsChannel != null) {
+            try {
+                this.solutionsChannel.close();
+            } catch (IOException e) {
+                System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+            }
+            this.solutionsChannel = null;
+        }
+    }
+
+    /**
+     * Closes the channel of the deferred solutions and forgets them, once none are left to load.
+     */
+    private synchronized void forgetSolutions() {
+        this.closeSolutions();
+        this.pendingUsers = 0;
+        this.deferredSolutionsLength = 0;
+        this.solutionsIndexed = false;
+    }
+
+    /**
+     * Makes room for one more element at position "size" of an entity array. The capacity is doubled whenever
+     * the array is full, so appending n elements one at a time costs O(n) copying overall; the slots past
+     * "size" are unused and left null.
+     * @param array array currently holding "size" elements.
+     * @param size number of elements in use.
+     * @return the same array if it still has room; a larger copy of it otherwise.
+     */
+    static <T> T[] grow(T[] array, int size) {
+        if (size < array.length) {
+            return array;
+        }
+
+        return Arrays.copyOf(array, Math.max(8, array.length * 2));
     }
 
     /**
-     * Writes text in file with specified name.
+     * Writes text in file with specified name, as a new line appended through the append log; the line reaches
+     * the file at the log's next group commit.
      * @param file filename.
      * @param text text to be written.
      */
     public void write(String file, String text) {
-        try (FileWriter fw = new FileWriter(file, true);
-             BufferedWriter bw = new BufferedWriter(fw);
-             PrintWriter out = new PrintWriter(bw)) {
-            out.println(text);
+        try {
+            this.log.append(file, text);
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+        }
+    }
+
+    /**
+     * Commits all lines written so far, so that the files on disk are up to date.
+     */
+    public void sync() {
+        try {
+            this.log.commit();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+        }
+    }
+
+    /**
+     * Commits all lines written so far to a file and closes it, before the file is deleted or rewritten.
+     * @param file filename.
+     */
+    public void release(String file) {
+        try {
+            this.log.release(file);
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+        }
+    }
+
+    /**
+     * Commits all lines written so far and closes the files; must be called once the database is no longer used.
+     */
+    public void close() {
+        this.closeSolutions();
+        try {
+            this.log.close();
         } catch (IOException e) {
             System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
         }
@@ -203,9 +629,26 @@ public class Database {
      */
     public void addUser(User user) {
         this.write("Users.csv", user.toString());
+        this.putUser(user);
+    }
 
-        this.users = Arrays.copyOf(this.users, this.users.length + 1);
+    /**
+     * Adds a user to the users array and its index without writing it to a file.
+     * @param user user to be stored.
+     */
+    void putUser(User user) {
+        this.users = grow(this.users, noUsers);
         this.users[noUsers++] = user;
+        this.usersByName.putIfAbsent(user.getUsername(), user);
+    }
+
+    /**
+     * Finds a registered user by username.
+     * @param username username to look up.
+     * @return reference to the user object stored in the database; null if no such user is registered.
+     */
+    public User findUser(String username) {
+        return this.usersByName.get(username);
     }
 
     /**
@@ -214,9 +657,56 @@ public class Database {
      */
     public void addQuestion(Question question) {
         this.write("Questions.csv", question.toString());
+        this.putQuestion(question);
+    }
 
-        this.questions = Arrays.copyOf(this.questions, this.questions.length + 1);
+    /**
+     * Adds a question to the questions array and its indexes without writing it to a file.
+     * @param question question to be stored.
+     */
+    void putQuestion(Question question) {
+        this.questions = grow(this.questions, noQuestions);
         this.questions[noQuestions++] = question;
+        this.questionsById.putIfAbsent(question.getId(), question);
+        this.questionsByText.putIfAbsent(question.getText(), question);
+    }
+
+    /**
+     * Finds a question by its ID.
+     * @param id question ID to look up.
+     * @return reference to the question object stored in the database; null if there is no such question.
+     */
+    public Question findQuestion(int id) {
+        return this.questionsById.get(id);
+    }
+
+    /**
+     * Finds the position in the questions array of the first question whose ID is greater than a given ID, by
+     * binary search: questions are stored in increasing order of their IDs.
+     * @param id ID to compare with.
+     * @return position of the first question with a greater ID; noQuestions if there is none.
+     */
+    public int firstQuestionAfter(int id) {
+        int low = 0, high = noQuestions;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.questions[middle].getId() <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds a question by its text.
+     * @param text question text to look up.
+     * @return reference to the question object stored in the database; null if there is no such question.
+     */
+    public Question findQuestionByText(String text) {
+        return this.questionsByText.get(text);
     }
 
     /**
@@ -225,9 +715,140 @@ public class Database {
      */
     public void addQuiz(Quiz quiz) {
         this.write("Quizzes.csv", quiz.toString());
+        this.putQuiz(quiz);
+    }
 
-        this.quizzes = Arrays.copyOf(this.quizzes, this.quizzes.length + 1);
+    /**
+     * Adds a quiz to the quizzes array and its indexes without writing it to a file.
+     * @param quiz quiz to be stored.
+     */
+    void putQuiz(Quiz quiz) {
+        this.quizzes = grow(this.quizzes, noQuizzes);
         this.quizzes[noQuizzes++] = quiz;
+        this.quizzesById.putIfAbsent(quiz.getId(), quiz);
+        this.quizzesByName.putIfAbsent(quiz.getName(), quiz);
+    }
+
+    /**
+     * Finds a quiz by its ID.
+     * @param id quiz ID to look up.
+     * @return reference to the quiz object stored in the database; null if there is no such quiz.
+     */
+    public Quiz findQuiz(int id) {
+        return this.quizzesById.get(id);
+    }
+
+    /**
+     * Finds the position in the quizzes array of the first quiz whose ID is greater than a given ID, by binary
+     * search: quizzes are stored in increasing order of their IDs.
+     * @param id ID to compare with.
+     * @return position of the first quiz with a greater ID; noQuizzes if there is none.
+     */
+    public int firstQuizAfter(int id) {
+        int low = 0, high = noQuizzes;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.quizzes[middle].getId() <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds a quiz by its name.
+     * @param name quiz name to look up.
+     * @return reference to the quiz object stored in the database; null if there is no such quiz.
+     */
+    public Quiz findQuizByName(String name) {
+        return this.quizzesByName.get(name);
+    }
+
+    /**
+     * Deletes a quiz without rewriting any file: a tombstone with its ID is appended to "Deleted.csv" and the quiz
+     * is removed from memory.
+     * @param quiz quiz to be deleted.
+     */
+    public void deleteQuiz(Quiz quiz) {
+        this.write("Deleted.csv", String.valueOf(quiz.getId()));
+        this.deletedQuizzes.add(quiz.getId());
+        this.removeQuiz(quiz);
+    }
+
+    /**
+     * Compacts the files once the share of dead quiz rows in them exceeds COMPACTION_RATIO, so that each
+     * rewrite is paid for by as many deletions as there are live quizzes.
+     */
+    public void compactIfNeeded() {
+        int dead = this.deletedQuizzes.size();
+        if (dead > 0 && dead >= COMPACTION_RATIO * (dead + noQuizzes)) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Rewrites "Quizzes.csv" and "Solutions.csv" with the live rows only, each through a single writer into a
+     * temporary file that then replaces the old one, and drops the tombstones that are no longer needed.
+     */
+    public void compact() {
+        this.loadAllSolutions();
+        this.release("Quizzes.csv");
+        this.release("Solutions.csv");
+        this.release("Deleted.csv");
+
+        try {
+            File quizzesTmp = new File("Quizzes.csv.tmp");
+            try (BufferedWriter out = new BufferedWriter(new FileWriter(quizzesTmp, StandardCharsets.UTF_8), 1 << 16)) {
+                for (int i = 0; i < noQuizzes; i++) {
+                    out.write(this.quizzes[i].toString());
+                    out.newLine();
+                }
+            }
+
+            File solutionsTmp = new File("Solutions.csv.tmp");
+            try (BufferedWriter out = new BufferedWriter(new FileWriter(solutionsTmp, StandardCharsets.UTF_8), 1 << 16)) {
+                for (int i = 0; i < noUsers; i++) {
+                    User user = this.users[i];
+                    for (int j = 0; j < user.getSolCount(); j++) {
+                        SolvedQuiz solution = user.getSolutionsIndex(j);
+                        out.write(user.getUsername() + "," + solution.getQuiz().getId() + "," + solution.getScore());
+                        out.newLine();
+                    }
+                }
+            }
+
+            Metrics.written(quizzesTmp.length() + solutionsTmp.length());
+            Files.move(quizzesTmp.toPath(), new File("Quizzes.csv").toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            Files.move(solutionsTmp.toPath(), new File("Solutions.csv").toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            new File("Deleted.csv").delete();
+            this.deletedQuizzes.clear();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+        }
+    }
+
+    /**
+     * Removes a quiz from the quizzes array and its index, keeping the remaining quizzes in order.
+     * @param quiz quiz to be removed.
+     */
+    public void removeQuiz(Quiz quiz) {
+        int index = 0;
+        while (index < noQuizzes && !quiz.equals(this.quizzes[index])) {
+            index++;
+        }
+        if (index == noQuizzes) {
+            return;
+        }
+
+        System.arraycopy(this.quizzes, index + 1, this.quizzes, index, noQuizzes - index - 1);
+        this.quizzes[--noQuizzes] = null;
+        this.quizzesById.remove(quiz.getId());
+        this.quizzesByName.remove(quiz.getName());
     }
 
     /**
@@ -241,12 +862,61 @@ public class Database {
     }
 
     /**
-     * Deletes all information about the system being currently stored in files.
+     * Adds a batch of solutions to the solutions file in a single write.
+     * @param users users that add the solutions, one for each solution.
+     * @param solutions solutions to be added.
+     */
+    public void addSolutions(User[] users, SolvedQuiz[] solutions) {
+        if (solutions.length == 0) {
+            return;
+        }
+
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < solutions.length; i++) {
+            if (i > 0) {
+                rows.append(System.lineSeparator());
+            }
+            rows.append(users[i].getUsername()).append(',').append(solutions[i].getQuiz().getId())
+                    .append(',').append(solutions[i].getScore());
+        }
+        this.write("Solutions.csv", rows.toString());
+    }
+
+    /**
+     * Deletes all information about the system being currently stored in files and empties the in-memory
+     * structures, so a database kept resident between commands starts over as well.
      */
     public void cleanup() {
+        this.close();
+
         User.clean();
         Question.clean();
         Quiz.clean();
         SolvedQuiz.clean();
+        Snapshot.clean();
+
+        this.sessions.clear();
+        this.deletedQuizzes.clear();
+        this.clear();
+    }
+
+    /**
+     * Empties all in-memory structures without touching the files. The tombstones read from "Deleted.csv" are
+     * kept: they are read before the snapshot, and a rejected snapshot falls back on the CSV files, which still
+     * hold the rows of the deleted quizzes.
+     */
+    void clear() {
+        this.forgetSolutions();
+        this.users = new User[0];
+        this.questions = new Question[0];
+        this.quizzes = new Quiz[0];
+        this.usersByName.clear();
+        this.questionsById.clear();
+        this.quizzesById.clear();
+        this.questionsByText.clear();
+        this.quizzesByName.clear();
+        noUsers = 0;
+        noQuestions = 0;
+        noQuizzes = 0;
     }
 }
@@ -0,0 +1,163 @@
+package com.example.project;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Tool that generates a consistent dataset (the "Users.csv", "Questions.csv", "Quizzes.csv" and "Solutions.csv"
+ * files) of a given size, deterministically from a seed, for load and scale testing. Rows are streamed to the
+ * files as they are generated, so the dataset can be larger than the heap.
+ *
+ * The generated data respects the rules of the commands: every question has 2 to 5 answers with distinct texts and
+ * at least one correct answer ("single" questions exactly one); quizzes have distinct names and refer to existing
+ * questions; solutions refer to existing quizzes, at most one per user and quiz, never to the user's own quiz.
+ * Answer IDs are not written: they are numbered from 1, in file order, when "Questions.csv" is read, and the loader
+ * reserves them in the Answer.count sequence (Answer.reserveId), so answers created afterwards get new IDs.
+ *
+ * Usage: DatasetGenerator users questions quizzes [solutionsPerUser [seed [directory]]]
+ */
+public class DatasetGenerator {
+
+    /**
+     * Number of questions of every generated quiz (fewer if there are not enough questions).
+     */
+    public static final int QUESTIONS_PER_QUIZ = 5;
+
+    private final long seed;
+    private final int users;
+    private final int questions;
+    private final int quizzes;
+    private final int solutionsPerUser;
+
+    /**
+     * Constructor with parameters.
+     * @param seed seed of the generated values; the same parameters always give the same files.
+     * @param users number of users.
+     * @param questions number of questions.
+     * @param quizzes number of quizzes.
+     * @param solutionsPerUser number of solutions attempted for every user; fewer are written when there are not
+     *                         enough quizzes or when a picked quiz belongs to the user.
+     */
+    public DatasetGenerator(long seed, int users, int questions, int quizzes, int solutionsPerUser) {
+        this.seed = seed;
+        this.users = users;
+        this.questions = questions;
+        this.quizzes = quizzes;
+        this.solutionsPerUser = solutionsPerUser;
+    }
+
+    /**
+     * Gives the name (also used as password) of a generated user.
+     * @param user index of the user.
+     * @return username.
+     */
+    public static String username(int user) {
+        return "user" + user;
+    }
+
+    /**
+     * Gives the author of a generated quiz, derived from the seed and the quiz ID so that it does not have to be
+     * kept in memory while the solutions are generated.
+     * @param quizId ID of the quiz.
+     * @return index of the user that created the quiz.
+     */
+    public int author(int quizId) {
+        long z = this.seed + quizId * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) Math.floorMod(z, (long) this.users);
+    }
+
+    /**
+     * Writes the dataset files in a directory, replacing existing ones.
+     * @param directory directory of the files.
+     * @throws IOException if a file cannot be written.
+     */
+    public void generate(File directory) throws IOException {
+        Random random = new Random(this.seed);
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(new File(directory, "Users.csv"), StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 0; i < this.users; i++) {
+                out.write(username(i));
+                out.write(',');
+                out.write(username(i));
+                out.newLine();
+            }
+        }
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(new File(directory, "Questions.csv"), StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 1; i <= this.questions; i++) {
+                int noAnswers = 2 + random.nextInt(4);
+                boolean single = random.nextBoolean();
+                int correct = random.nextInt(noAnswers);
+
+                out.write(i + ",Question " + i + (single ? ",single" : ",multiple"));
+                for (int j = 0; j < noAnswers; j++) {
+                    boolean value = j == correct || (!single && random.nextBoolean());
+                    out.write(",Answer " + (j + 1) + "," + value);
+                }
+                out.newLine();
+            }
+        }
+
+        int perQuiz = Math.min(QUESTIONS_PER_QUIZ, this.questions);
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(new File(directory, "Quizzes.csv"), StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 1; i <= this.quizzes; i++) {
+                String author = username(this.author(i));
+                out.write(i + "," + author + "," + author + ",Quiz " + i);
+                int first = random.nextInt(this.questions);
+                for (int j = 0; j < perQuiz; j++) {
+                    out.write("," + (1 + (first + j) % this.questions));
+                }
+                out.newLine();
+            }
+        }
+
+        int perUser = Math.min(this.solutionsPerUser, this.quizzes);
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(new File(directory, "Solutions.csv"), StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 0; i < this.users; i++) {
+                int first = perUser == 0 ? 0 : random.nextInt(this.quizzes);
+                for (int j = 0; j < perUser; j++) {
+                    int quizId = 1 + (first + j) % this.quizzes;
+                    if (this.author(quizId) != i) {
+                        out.write(username(i) + "," + quizId + "," + random.nextInt(101));
+                        out.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Usage: DatasetGenerator users questions quizzes [solutionsPerUser [seed [directory]]]'}");
+            return;
+        }
+
+        DatasetGenerator generator;
+        try {
+            generator = new DatasetGenerator(args.length > 4 ? Long.parseLong(args[4]) : 42,
+                    Integer.parseInt(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : 5);
+        } catch (NumberFormatException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Invalid dataset size or seed'}");
+            return;
+        }
+        if (generator.users < 1 || generator.questions < 1 || generator.quizzes < 0 || generator.solutionsPerUser < 0) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Invalid dataset size or seed'}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            generator.generate(new File(args.length > 5 ? args[5] : "."));
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+            return;
+        }
+
+        System.out.printf("{ 'status' : 'ok', 'message' : 'Dataset generated in %d ms'}\n", (System.nanoTime() - start) / 1_000_000);
+    }
+}
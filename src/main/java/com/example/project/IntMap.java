@@ -0,0 +1,177 @@
+package com.example.project;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive int keys, used where boxing every key into an Integer would cost more than the lookup
+ * itself. Entries are kept in open-addressing tables with linear probing; removals shift the following entries
+ * back instead of leaving markers, so lookups never slow down as entries come and go.
+ * @param <V> type of the values.
+ */
+public class IntMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructor without parameters.
+     */
+    public IntMap() {
+        this(8);
+    }
+
+    /**
+     * Constructor with parameters.
+     * @param expected number of entries the map should hold without growing.
+     */
+    public IntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected, 4) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the value associated with a key.
+     * @param key key to look up.
+     * @return value associated with the key; null if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int i = this.slot(key); this.used[i]; i = (i + 1) & this.mask) {
+            if (this.keys[i] == key) {
+                return (V) this.values[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     * @param key key to look up.
+     * @return true if the key is in the map; false otherwise.
+     */
+    public boolean containsKey(int key) {
+        for (int i = this.slot(key); this.used[i]; i = (i + 1) & this.mask) {
+            if (this.keys[i] == key) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Associates a value with a key, replacing the previous value if the key is already in the map.
+     * @param key key of the entry.
+     * @param value value of the entry.
+     * @return previous value associated with the key; null if the key was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int i = this.slot(key);
+        while (this.used[i]) {
+            if (this.keys[i] == key) {
+                V previous = (V) this.values[i];
+                this.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & this.mask;
+        }
+
+        this.used[i] = true;
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (++this.size * 2 > this.keys.length) {
+            this.resize(this.keys.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes a key and its value from the map.
+     * @param key key to be removed.
+     * @return value that was associated with the key; null if the key was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = this.slot(key);
+        while (this.used[i] && this.keys[i] != key) {
+            i = (i + 1) & this.mask;
+        }
+        if (!this.used[i]) {
+            return null;
+        }
+
+        V previous = (V) this.values[i];
+        int gap = i;
+        for (int j = (i + 1) & this.mask; this.used[j]; j = (j + 1) & this.mask) {
+            int home = this.slot(this.keys[j]);
+            if (((j - home) & this.mask) >= ((j - gap) & this.mask)) {
+                this.keys[gap] = this.keys[j];
+                this.values[gap] = this.values[j];
+                gap = j;
+            }
+        }
+        this.used[gap] = false;
+        this.values[gap] = null;
+        this.size--;
+
+        return previous;
+    }
+
+    /**
+     * Removes all entries from the map.
+     */
+    public void clear() {
+        Arrays.fill(this.used, false);
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Computes the slot where the probing for a key starts.
+     * @param key key to be placed.
+     * @return index in the tables.
+     */
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & this.mask;
+    }
+
+    /**
+     * Moves all entries into tables of a new capacity.
+     * @param capacity new capacity, a power of 2.
+     */
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        boolean[] oldUsed = this.used;
+
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = this.slot(oldKeys[i]);
+                while (this.used[j]) {
+                    j = (j + 1) & this.mask;
+                }
+                this.used[j] = true;
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+            }
+        }
+    }
+}
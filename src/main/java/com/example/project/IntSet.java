@@ -0,0 +1,54 @@
+package com.example.project;
+
+/**
+ * Set of primitive int values, used to look up the answer IDs of a submission in constant time.
+ */
+public class IntSet extends IntMap<Boolean> {
+
+    /**
+     * Constructor without parameters.
+     */
+    public IntSet() {
+        super();
+    }
+
+    /**
+     * Constructor with parameters.
+     * @param expected number of values the set should hold without growing.
+     */
+    public IntSet(int expected) {
+        super(expected);
+    }
+
+    /**
+     * Builds a set holding all values of an array; repeated values are kept once.
+     * @param values values to be added.
+     * @return the new set.
+     */
+    public static IntSet of(int[] values) {
+        IntSet set = new IntSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+
+        return set;
+    }
+
+    /**
+     * Adds a value to the set.
+     * @param value value to be added.
+     * @return true if the value was not already in the set; false otherwise.
+     */
+    public boolean add(int value) {
+        return this.put(value, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     * @param value value to look up.
+     * @return true if the value is in the set; false otherwise.
+     */
+    public boolean contains(int value) {
+        return this.containsKey(value);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.project;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Load-test client for CommandServer: opens a number of concurrent connections, each sending the same command a
+ * number of times and waiting for every response before sending the next command, then prints the throughput
+ * and the latency percentiles over all requests.
+ *
+ * Usage: LoadClient port connections requestsPerConnection command...
+ * (e.g. LoadClient 7070 1000 100 -get-all-quizzes -u 'test' -p 'test' -page-size '20')
+ */
+public class LoadClient {
+
+    /**
+     * Sends the same command repeatedly over one connection.
+     * @param port port of the server on the loopback interface.
+     * @param command command line to be sent.
+     * @param requests number of requests.
+     * @return latency of every request, in nanoseconds.
+     * @throws IOException if the connection fails or is closed by the server.
+     */
+    static long[] connection(int port, String command, int requests) throws IOException {
+        long[] latencies = new long[requests];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            for (int i = 0; i < requests; i++) {
+                long start = System.nanoTime();
+                out.write(command);
+                out.write('\n');
+                out.flush();
+                if (in.readLine() == null) {
+                    throw new EOFException("Connection closed by the server");
+                }
+                latencies[i] = System.nanoTime() - start;
+            }
+            out.write("-exit\n");
+            out.flush();
+            while (in.readLine() != null) {
+                // wait for the server to end the connection
+            }
+        }
+
+        return latencies;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 4) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Usage: LoadClient port connections requestsPerConnection command...'}");
+            return;
+        }
+
+        int port, connections, requests;
+        try {
+            port = Integer.parseInt(args[0]);
+            connections = Integer.parseInt(args[1]);
+            requests = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Invalid port or load'}");
+            return;
+        }
+        String command = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+
+        ExecutorService executor = CommandServer.newExecutor();
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            results.add(executor.submit(() -> connection(port, command, requests)));
+        }
+
+        long[] latencies = new long[connections * requests];
+        int n = 0, failed = 0;
+        for (Future<long[]> result : results) {
+            try {
+                long[] connectionLatencies = result.get();
+                System.arraycopy(connectionLatencies, 0, latencies, n, connectionLatencies.length);
+                n += connectionLatencies.length;
+            } catch (java.util.concurrent.ExecutionException e) {
+                failed++;
+            }
+        }
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        executor.shutdown();
+
+        if (n == 0) {
+            System.out.println("{ 'status' : 'error', 'message' : 'No request succeeded'}");
+            return;
+        }
+        Arrays.sort(latencies, 0, n);
+        System.out.printf("{ 'status' : 'ok', 'message' : '%d requests in %d ms (%d requests/sec, %d connections failed); "
+                        + "latency p50 %d us, p99 %d us, p99.9 %d us, max %d us'}\n",
+                n, elapsed / 1_000_000, (long) (n * 1e9 / elapsed), failed, percentile(latencies, n, 50) / 1000,
+                percentile(latencies, n, 99) / 1000, percentile(latencies, n, 99.9) / 1000, latencies[n - 1] / 1000);
+    }
+
+    /**
+     * Finds a percentile in sorted values.
+     * @param sorted values in ascending order.
+     * @param n number of values in use.
+     * @param percentile percentile, between 0 and 100.
+     * @return value at the percentile.
+     */
+    static long percentile(long[] sorted, int n, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * n);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
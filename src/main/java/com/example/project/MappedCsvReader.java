@@ -0,0 +1,195 @@
+package com.example.project;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that reads a CSV file of the system through a memory mapping, one line at a time, parsing the fields
+ * directly from the mapped bytes: numbers are decoded without building a String and text fields are decoded
+ * once, straight into their final String. Files larger than the mapping window are mapped one window at a time,
+ * each window starting at a line boundary.
+ */
+public class MappedCsvReader implements Closeable {
+
+    private static final long WINDOW = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer buffer;
+    private long windowStart;
+
+    private int next;
+    private int lineStart;
+    private int lineEnd;
+    private int position;
+    private byte[] scratch = new byte[256];
+    private long lines;
+
+    /**
+     * Constructor with parameters; maps the beginning of the file.
+     * @param file name of the CSV file.
+     * @throws IOException if the file cannot be opened or mapped.
+     */
+    public MappedCsvReader(String file) throws IOException {
+        this.channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        this.size = this.channel.size();
+        this.map(0);
+    }
+
+    /**
+     * Moves to the next line of the file.
+     * @return true if there is a next line; false at the end of the file.
+     * @throws IOException if the next window of the file cannot be mapped.
+     */
+    public boolean nextLine() throws IOException {
+        if (this.windowStart + this.next >= this.size) {
+            return false;
+        }
+
+        int end = this.find(this.next);
+        if (end == this.buffer.limit() && this.windowStart + end < this.size) {
+            this.map(this.windowStart + this.next);
+            end = this.find(0);
+        }
+
+        this.lineStart = this.next;
+        this.position = this.next;
+        this.lineEnd = end;
+        this.next = end + 1;
+        this.lines++;
+        return true;
+    }
+
+    /**
+     * Checks whether the current line has fields left to read.
+     * @return true if there is at least one more field on the line.
+     */
+    public boolean hasField() {
+        return this.position < this.fieldLimit();
+    }
+
+    /**
+     * Reads the next field of the current line as text.
+     * @return text of the field.
+     */
+    public String nextString() {
+        int limit = this.fieldLimit();
+        int start = this.position;
+        int end = start;
+        while (end < limit && this.buffer.get(end) != ',') {
+            end++;
+        }
+
+        int length = end - start;
+        if (length > this.scratch.length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            this.scratch[i] = this.buffer.get(start + i);
+        }
+
+        this.position = end + 1;
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next field of the current line as a (possibly negative) decimal integer.
+     * @return value of the field.
+     */
+    public int nextInt() {
+        int limit = this.fieldLimit();
+        int i = this.position;
+        boolean negative = i < limit && this.buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+
+        int value = 0;
+        while (i < limit) {
+            byte b = this.buffer.get(i);
+            if (b == ',') {
+                break;
+            }
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException("Invalid digit in CSV field");
+            }
+            value = value * 10 + (b - '0');
+            i++;
+        }
+
+        this.position = i + 1;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads the next field of the current line as a boolean.
+     * @return true if the field is exactly "true"; false otherwise.
+     */
+    public boolean nextBoolean() {
+        int limit = this.fieldLimit();
+        int start = this.position;
+        int end = start;
+        while (end < limit && this.buffer.get(end) != ',') {
+            end++;
+        }
+
+        this.position = end + 1;
+        return end - start == 4 && this.buffer.get(start) == 't' && this.buffer.get(start + 1) == 'r'
+                && this.buffer.get(start + 2) == 'u' && this.buffer.get(start + 3) == 'e';
+    }
+
+    /**
+     * Closes the file, adding its size and the lines read to the metrics.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        Metrics.read(this.size);
+        Metrics.scanned(this.lines);
+        this.channel.close();
+    }
+
+    /**
+     * Maps the window of the file starting at a given offset.
+     * @param offset offset of the window in the file.
+     * @throws IOException if the window cannot be mapped.
+     */
+    private void map(long offset) throws IOException {
+        this.windowStart = offset;
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW, this.size - offset));
+        this.next = 0;
+    }
+
+    /**
+     * Finds the end of the line starting at a given position of the current window.
+     * @param start position of the first byte of the line.
+     * @return position of the line's '\n'; the limit of the window if the line is not terminated in it.
+     */
+    private int find(int start) {
+        int end = start;
+        int limit = this.buffer.limit();
+        while (end < limit && this.buffer.get(end) != '\n') {
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * Gives the end of the current line's content, leaving out a '\r' written before the '\n'.
+     * @return position right after the last byte of the line's content.
+     */
+    private int fieldLimit() {
+        if (this.lineEnd > this.lineStart && this.buffer.get(this.lineEnd - 1) == '\r') {
+            return this.lineEnd - 1;
+        }
+
+        return this.lineEnd;
+    }
+}
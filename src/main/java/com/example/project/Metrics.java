@@ -0,0 +1,269 @@
+package com.example.project;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class that records how long every command takes, in one latency histogram per command type, together with
+ * counters of the rows scanned and of the bytes read and written. The histogram of a command type registered in
+ * CommandRegistry is created the first time the type runs, every other command being recorded as "other"; after
+ * that, recording is lock-free and allocates nothing, so it stays on for every command; the figures cover all commands run by the JVM (a daemon, batch or server
+ * session) and are printed as JSON by the "-dump-metrics" command.
+ *
+ * Histograms use log-linear buckets, like HdrHistogram: every power of two is split in SUB_BUCKETS equal buckets,
+ * so a recorded latency is known within 1 / SUB_BUCKETS of its value, from 1 ns to hours.
+ */
+public class Metrics {
+
+    /**
+     * Name of the histogram of all commands whose type is not registered.
+     */
+    public static final String OTHER = "other";
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) << SUB_BITS;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Latency histogram of one command type: bucket counts, number of executions, total and maximum latency (in
+     * nanoseconds).
+     */
+    private static class Histogram {
+        private final String type;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram(String type) {
+            this.type = type;
+        }
+    }
+
+    private static final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Histograms in the order they were created, the order in which they are dumped.
+     */
+    private static final CopyOnWriteArrayList<Histogram> created = new CopyOnWriteArrayList<>();
+
+    private static final LongAdder rowsScanned = new LongAdder();
+    private static final LongAdder bytesRead = new LongAdder();
+    private static final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Gives the name of the histogram a command type is recorded in.
+     * @param type command type.
+     * @return the type itself if it is registered in CommandRegistry; OTHER otherwise.
+     */
+    private static String name(String type) {
+        return type.equals(OTHER) || CommandRegistry.find(type) != null ? type : OTHER;
+    }
+
+    /**
+     * Finds the histogram of a command type, creating it the first time the type is recorded.
+     * @param type command type.
+     * @return histogram of the type.
+     */
+    private static Histogram histogram(String type) {
+        Histogram histogram = histograms.get(type);
+        if (histogram != null) {
+            return histogram;
+        }
+
+        return histograms.computeIfAbsent(name(type), name -> {
+            Histogram created = new Histogram(name);
+            Metrics.created.add(created);
+            return created;
+        });
+    }
+
+    /**
+     * Records one execution of a command.
+     * @param type command type, e.g. "-get-all-quizzes".
+     * @param nanos duration of the execution, in nanoseconds.
+     */
+    public static void record(String type, long nanos) {
+        Histogram histogram = histogram(type);
+        long value = Math.max(nanos, 0);
+
+        histogram.buckets.incrementAndGet(bucket(value));
+        histogram.count.incrementAndGet();
+        histogram.total.addAndGet(value);
+        long max;
+        while ((max = histogram.max.get()) < value && !histogram.max.compareAndSet(max, value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Adds to the number of rows (entries of the in-memory structures or lines of the files) scanned.
+     * @param rows number of rows.
+     */
+    public static void scanned(long rows) {
+        rowsScanned.add(rows);
+    }
+
+    /**
+     * Adds to the number of bytes read from the data files.
+     * @param bytes number of bytes.
+     */
+    public static void read(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Adds to the number of bytes written to the data files.
+     * @param bytes number of bytes.
+     */
+    public static void written(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    public static long getRowsScanned() {
+        return rowsScanned.sum();
+    }
+
+    public static long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public static long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Gives the number of recorded executions of a command type.
+     * @param type command type.
+     * @return number of executions.
+     */
+    public static long getCount(String type) {
+        Histogram histogram = histograms.getOrDefault(type, histograms.get(name(type)));
+        return histogram == null ? 0 : histogram.count.get();
+    }
+
+    /**
+     * Gives a percentile of the latencies recorded for a command type.
+     * @param type command type.
+     * @param percentile percentile, between 0 and 100.
+     * @return latency in nanoseconds (the highest value of the bucket the percentile falls in, never more than the
+     * maximum recorded); 0 if no execution was recorded.
+     */
+    public static long getPercentile(String type, double percentile) {
+        Histogram histogram = histograms.getOrDefault(type, histograms.get(name(type)));
+        return histogram == null ? 0 : percentile(histogram, percentile);
+    }
+
+    /**
+     * Prints all histograms and counters as one JSON object in the message of an "ok" response: for every command
+     * type run at least once (in the order they first ran), its count and its mean, p50, p90, p99, p99.9 and maximum latencies in microseconds.
+     */
+    public static void dump() {
+        StringBuilder json = new StringBuilder("{\"commands\" : {");
+        boolean first = true;
+        for (Histogram histogram : created) {
+            long count = histogram.count.get();
+            if (count == 0) {
+                continue;
+            }
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+
+            json.append('"').append(histogram.type).append("\" : {\"count\" : ").append(count)
+                    .append(", \"mean_us\" : ").append(micros(histogram.total.get() / count));
+            for (double percentile : PERCENTILES) {
+                json.append(", \"p").append(percentile == (long) percentile ? Long.toString((long) percentile)
+                        : Double.toString(percentile)).append("_us\" : ")
+                        .append(micros(percentile(histogram, percentile)));
+            }
+            json.append(", \"max_us\" : ").append(micros(histogram.max.get())).append('}');
+        }
+        json.append("}, \"rows_scanned\" : ").append(getRowsScanned())
+                .append(", \"bytes_read\" : ").append(getBytesRead())
+                .append(", \"bytes_written\" : ").append(getBytesWritten()).append('}');
+
+        System.out.println("{ 'status' : 'ok', 'message' : '" + json + "'}");
+    }
+
+    /**
+     * Clears all histograms and counters.
+     */
+    public static void reset() {
+        histograms.clear();
+        created.clear();
+        rowsScanned.reset();
+        bytesRead.reset();
+        bytesWritten.reset();
+    }
+
+    /**
+     * Finds the bucket of a value: values below SUB_BUCKETS have a bucket each, larger ones share a bucket with
+     * the values having the same highest SUB_BITS + 1 bits.
+     * @param value non-negative value.
+     * @return index of the bucket within a histogram.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gives the highest value that falls in a bucket.
+     * @param bucket index of the bucket within a histogram.
+     * @return highest value of the bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int shift = (bucket >> SUB_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Computes a percentile of the histogram of a command type.
+     * @param histogram histogram of the command type.
+     * @param percentile percentile, between 0 and 100.
+     * @return latency in nanoseconds; 0 if no execution was recorded.
+     */
+    private static long percentile(Histogram histogram, double percentile) {
+        long count = histogram.count.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), histogram.max.get());
+            }
+        }
+
+        return histogram.max.get();
+    }
+
+    /**
+     * Converts nanoseconds to microseconds, keeping one decimal.
+     * @param nanos duration in nanoseconds.
+     * @return duration in microseconds.
+     */
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
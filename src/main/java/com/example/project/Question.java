@@ -1,6 +1,7 @@
 package com.example.project;
 
 import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class representing a question in the quiz-generator's system.
@@ -12,7 +13,13 @@ public class Question {
     private String type;
     private Answer[] answers;
 
-    private static int count = 1;
+    /**
+     * Score (out of 1) of each correct and of each wrong answer, computed whenever the answers are set.
+     */
+    private double correctAnswerScore;
+    private double wrongAnswerScore;
+
+    private static final AtomicInteger count = new AtomicInteger(1);
 
     /**
      * Constructor without parameters.
@@ -28,7 +35,7 @@ public class Question {
      * @param answers answer array.
      */
     public Question(String text, String type, Answer[] answers) {
-        this(count++, text, type, answers);
+        this(count.getAndIncrement(), text, type, answers);
     }
 
     /**
@@ -42,7 +49,7 @@ public class Question {
         this.id = id;
         this.text = text;
         this.type = type;
-        this.answers = answers;
+        this.setAnswers(answers);
     }
 
     public int getId() {
@@ -75,6 +82,18 @@ public class Question {
 
     public void setAnswers(Answer[] answers) {
         this.answers = answers;
+        if (answers == null) {
+            return;
+        }
+
+        int correctCount = 0;
+        for (int i = 0; i < answers.length; i++) {
+            if (answers[i].getValue()) {
+                correctCount++;
+            }
+        }
+        this.correctAnswerScore = 1f / correctCount;
+        this.wrongAnswerScore = -1f / (answers.length - correctCount);
     }
 
 
@@ -84,13 +103,8 @@ public class Question {
      * @return ID of the question with the same text found in the database; 0 if no question was found.
      */
     public int alreadyExists(Database db) {
-        for (int i = 0; i < db.getNoQuestions(); i++) {
-            if (this.equals(db.questions[i])) {
-                return db.questions[i].getId();
-            }
-        }
-
-        return 0;
+        Question found = db.findQuestionByText(this.text);
+        return found == null ? 0 : found.getId();
     }
 
     /**
@@ -100,16 +114,16 @@ public class Question {
      * @param db database storing current system information.
      */
     public static void create(Command command, Database db) {
-        String[] args = command.getArguments();
-        String text = args[3].split("'")[1];
-        String type = args[4].split("'")[1];
-        int noAnswers = (args.length - 5) / 2;
+        Request request = command.getRequest();
+        String text = request.value(3);
+        String type = request.value(4);
+        int noAnswers = (request.size() - 5) / 2;
 
         Answer[] answers = new Answer[noAnswers];
         int index = 5;
         for (int i = 0; i < noAnswers; i++) {
-            String ansText = args[index++].split("'")[1];
-            boolean ansFlag = args[index++].split("'")[1].equals("1") ? true : false;
+            String ansText = request.value(index++);
+            boolean ansFlag = request.valueEquals(index++, "1");
             Answer newAnswer = new Answer(ansText, ansFlag);
             answers[i] = newAnswer;
         }
@@ -117,7 +131,8 @@ public class Question {
         Question question = new Question(text, type, answers);
 
         if (question.alreadyExists(db) > 0) {
-            count--;
+            count.decrementAndGet();
+            Answer.count.addAndGet(-noAnswers);
             System.out.println("{ 'status' : 'error', 'message' : 'Question already exists'}");
             return;
         }
@@ -133,42 +148,40 @@ public class Question {
      * @param db database storing current system information.
      */
     public static void find(Command command, Database db) {
-        String[] args = command.getArguments();
-        if (User.login(args, db) == null) {
-            return;
-        }
-
-        String text = args[3].split("'")[1];
+        String text = command.getRequest().value(3);
         Question question = new Question(0, text, "unk", null);
-        if (question.alreadyExists(db) == 0) {
+        int id = question.alreadyExists(db);
+        if (id == 0) {
             System.out.println("{ 'status' : 'error', 'message' : 'Question does not exist' }");
             return;
         }
 
-        System.out.printf("{ 'status' : 'ok', 'message' : '%d' }", question.alreadyExists(db));
+        System.out.printf("{ 'status' : 'ok', 'message' : '%d' }\n", id);
     }
 
     /**
-     * Prints information about all questions currently existing in the system after a successful login.
+     * Prints information about all questions currently existing in the system after a successful login, or about
+     * one page of them (ordered by ID) if the optional "-page-size" and "-cursor" arguments are given.
      * @param command Command object that called the "findAll" function.
      * @param db database storing current information in the system.
      */
     public static void findAll(Command command, Database db) {
-        String[] args = command.getArguments();
-        if (User.login(args, db) == null) {
+        int[] page = Command.page(command.getRequest(), db.getNoQuestions(), db::firstQuestionAfter);
+        if (page == null) {
             return;
         }
 
-        String s = "";
-        for (int i = 0; i < db.getNoQuestions(); i++) {
-            if (s.equals("")) {
-                s += "{\"question_id\" : \"" + db.questions[i].getId() + "\", \"question_name\" : \"" + db.questions[i].getText() + "\"}";
-            } else {
-                s += ", {\"question_id\" : \"" + db.questions[i].getId() + "\", \"question_name\" : \"" + db.questions[i].getText() + "\"}";
+        Metrics.scanned(page[1] - page[0]);
+        try {
+            ResponseWriter out = new ResponseWriter().begin();
+            for (int i = page[0]; i < page[1]; i++) {
+                out.item().write("{\"question_id\" : \"").write(db.questions[i].getId())
+                        .write("\", \"question_name\" : \"").write(db.questions[i].getText()).write("\"}");
             }
+            out.end();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write response'}");
         }
-
-        System.out.println("{ 'status' : 'ok', 'message' : '[" + s + "]'}");
     }
 
     /**
@@ -178,43 +191,25 @@ public class Question {
      * @return reference to Question object with the given question ID; null if no question with the ID was found.
      */
     public static Question isValidID(int id, Database db) {
-        for (int i = 0; i < db.getNoQuestions(); i++) {
-            if (id == db.questions[i].getId()) {
-                return db.questions[i];
-            }
-        }
-
-        return null;
+        return db.findQuestion(id);
     }
 
     /**
-     * Calculates the score (out of 1) associated with each correct answer based on their number.
+     * Gives the score (out of 1) associated with each correct answer based on their number, as computed when the
+     * answers were set.
      * @return score for each correct answer to the current question (this).
      */
     public double getCorrectAnswerScore() {
-        int correctCount = 0;
-        for (int i = 0; i < this.answers.length; i++) {
-            if (this.answers[i].getValue()) {
-                correctCount++;
-            }
-        }
-
-        return 1f / correctCount;
+        return this.correctAnswerScore;
     }
 
     /**
-     * Calculates the score (out of 1) associated with each wrong answer based on their number.
+     * Gives the score (out of 1) associated with each wrong answer based on their number, as computed when the
+     * answers were set.
      * @return score for each wrong answer to the current question (this).
      */
     public double getWrongAnswerScore() {
-        int wrongCount = 0;
-        for (int i = 0; i < this.answers.length; i++) {
-            if (!this.answers[i].getValue()) {
-                wrongCount++;
-            }
-        }
-
-        return -1f / wrongCount;
+        return this.wrongAnswerScore;
     }
 
     /**
@@ -227,13 +222,24 @@ public class Question {
      * @return score for question.
      */
     public double getScore(int[] answerIDs) {
+        return this.getScore(IntSet.of(answerIDs));
+    }
+
+    /**
+     * Calculates score associated with the current question (this) when the answers chosen are passed as a set of
+     * their IDs, built once for all questions of a submission.
+     * @param answerIDs set of the IDs of all the answers chosen by a user for a quiz containing the current
+     *                  question (this).
+     * @return score for question.
+     */
+    public double getScore(IntSet answerIDs) {
         double score = 0;
         for (int i = 0; i < this.answers.length; i++) {
             if (this.answers[i].isChosen(answerIDs)) {
                 if (this.answers[i].getValue()) {
-                    score += this.getCorrectAnswerScore();
+                    score += this.correctAnswerScore;
                 } else {
-                    score += this.getWrongAnswerScore();
+                    score += this.wrongAnswerScore;
                 }
             }
         }
@@ -246,11 +252,11 @@ public class Question {
      * @return String representing Question.
      */
     public String toString() {
-        String s =  "";
+        StringBuilder s = new StringBuilder().append(this.id).append(',').append(this.text).append(',').append(this.type);
         for (int i = 0; i < this.answers.length; i++) {
-            s += "," + this.answers[i].getText() + "," + this.answers[i].getValue();
+            s.append(',').append(this.answers[i].getText()).append(',').append(this.answers[i].getValue());
         }
-        return this.id + "," + this.text + "," + this.type + s;
+        return s.toString();
     }
 
     /**
@@ -262,12 +268,21 @@ public class Question {
         return this.text.equals(question.getText());
     }
 
+    /**
+     * Makes sure the static counter never hands out an ID that is already used in the files read at startup,
+     * which also keeps the questions array ordered by ID.
+     * @param id question ID found in the files.
+     */
+    static void reserveId(int id) {
+        count.accumulateAndGet(id + 1, Math::max);
+    }
+
     /**
      * Clears all question related data from the file system.
      */
     public static void clean() {
-        count = 1;
-        Answer.count = 1;
+        count.set(1);
+        Answer.count.set(1);
         File questions_file = new File("Questions.csv");
         questions_file.delete();
     }
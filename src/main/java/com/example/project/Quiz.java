@@ -3,6 +3,8 @@ package com.example.project;
 import javax.swing.table.AbstractTableModel;
 import javax.xml.crypto.Data;
 import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class representing a quiz in the quiz-generator's system.
@@ -14,7 +16,12 @@ public class Quiz {
     private String name;
     private Question[] questions;
 
-    private static int count = 1;
+    /**
+     * Bitmask scorer of the quiz, built the first time it is needed.
+     */
+    private QuizScorer scorer;
+
+    private static final AtomicInteger count = new AtomicInteger(1);
 
     /**
      * Constructor without parameters.
@@ -30,7 +37,7 @@ public class Quiz {
      * @param questions arrays of questions in quiz.
      */
     public Quiz(User user, String name, Question[] questions) {
-        this(count++, user, name, questions);
+        this(count.getAndIncrement(), user, name, questions);
     }
 
     /**
@@ -77,6 +84,19 @@ public class Quiz {
 
     public void setQuestions(Question[] questions) {
         this.questions = questions;
+        this.scorer = null;
+    }
+
+    /**
+     * Gives the bitmask scorer of the quiz, building it on first use.
+     * @return scorer of the quiz.
+     */
+    public QuizScorer getScorer() {
+        if (this.scorer == null) {
+            this.scorer = new QuizScorer(this);
+        }
+
+        return this.scorer;
     }
 
     /**
@@ -85,36 +105,31 @@ public class Quiz {
      * @return reference to Question object with the same name found in database; null if no question is found.
      */
     public int alreadyExists(Database db) {
-        for (int i = 0; i < db.getNoQuizzes(); i++) {
-            if (this.equals(db.quizzes[i])) {
-                return db.quizzes[i].getId();
-            }
-        }
-
-        return 0;
+        Quiz found = db.findQuizByName(this.name);
+        return found == null ? 0 : found.getId();
     }
 
     /**
      * Creates new Quiz object in the system based on the parameters passed as command line arguments if no such
      * quiz exists.
-     * @param args command line arguments passed to the "-create-quiz" command.
+     * @param user user creating the quiz, already logged in.
+     * @param request arguments passed to the "-create-quiz" command.
      * @param db database storing current system information.
      */
-    public static void create(String[] args, Database db) {
-        User user = new User(args[1].split("'")[1],  args[2].split("'")[1]);
-        String name = args[3].split("'")[1];
+    public static void create(User user, Request request, Database db) {
+        String name = request.value(3);
 
         Quiz quiz = new Quiz(user, name, null);
         if (quiz.alreadyExists(db) > 0) {
             System.out.println("{ 'status' : 'error', 'message' : 'Quizz name already exists'}");
-            count--;
+            count.decrementAndGet();
             return;
         }
 
-        Question[] questions = new Question[args.length - 4];
+        Question[] questions = new Question[request.size() - 4];
         int count = 0;
-        for (int i = 4; i < args.length; i++) {
-            int id = Integer.parseInt(args[i].split("'")[1]);
+        for (int i = 4; i < request.size(); i++) {
+            int id = request.intValue(i);
             Question question = Question.isValidID(id, db);
             if (question == null) {
                 System.out.printf("{ 'status' : 'error', 'message' : 'Question ID for question %d does not exist'}\n", i - 3);
@@ -131,86 +146,81 @@ public class Quiz {
 
     /**
      * Finds a specific quiz (printing its ID) in the database based on its name.
-     * @param args command line arguments passed to the "-get-quizz-by-name" command.
+     * @param request arguments passed to the "-get-quizz-by-name" command.
      * @param db database storing current system information.
      */
-    public static void find(String[] args, Database db) {
-        if (User.login(args, db) == null) {
-            return;
-        }
-
-        String name = args[3].split("'")[1];
+    public static void find(Request request, Database db) {
+        String name = request.value(3);
         Quiz quiz = new Quiz(0, null, name, null);
-        if (quiz.alreadyExists(db) == 0) {
+        int id = quiz.alreadyExists(db);
+        if (id == 0) {
             System.out.println("{ 'status' : 'error', 'message' : 'Quizz does not exist'}");
             return;
         }
 
-        System.out.printf("{ 'status' : 'ok', 'message' : '%d'}", quiz.alreadyExists(db));
+        System.out.printf("{ 'status' : 'ok', 'message' : '%d'}\n", id);
     }
 
     /**
-     * Prints information about all quizzes currently in the system.
-     * @param args command line arguments passed to the "-get-all-quizzes" command.
+     * Prints information about all quizzes currently in the system, or about one page of them (ordered by ID) if
+     * the optional "-page-size" and "-cursor" arguments are given.
+     * @param user user listing the quizzes, already logged in.
+     * @param request arguments passed to the "-get-all-quizzes" command.
      * @param db database storing current system information.
      */
-    public static void findAll(String[] args, Database db) {
-        if (User.login(args, db) == null) {
+    public static void findAll(User user, Request request, Database db) {
+        int[] page = Command.page(request, db.getNoQuizzes(), db::firstQuizAfter);
+        if (page == null) {
             return;
         }
 
-        String s = "";
-        for (int i = 0; i < db.getNoQuizzes(); i++) {
-            String isCompleted = User.login(args, db).isQuizIDCompleted(db.quizzes[i].getId()) ? "True" : "False";
-            if (s.equals("")) {
-                s += "{\"quizz_id\" : \"" + db.quizzes[i].getId() + "\", \"quizz_name\" : \"" + db.quizzes[i].getName() + "\", \"is_completed\" : \"" + isCompleted + "\"}";
-            } else {
-                s += ", {\"quizz_id\" : \"" + db.quizzes[i].getId() + "\", \"quizz_name\" : \"" + db.quizzes[i].getName() + "\", \"is_completed\" : \"" + isCompleted + "\"}";
+        Metrics.scanned(page[1] - page[0]);
+        try {
+            ResponseWriter out = new ResponseWriter().begin();
+            for (int i = page[0]; i < page[1]; i++) {
+                String isCompleted = user.isQuizIDCompleted(db.quizzes[i].getId()) ? "True" : "False";
+                out.item().write("{\"quizz_id\" : \"").write(db.quizzes[i].getId())
+                        .write("\", \"quizz_name\" : \"").write(db.quizzes[i].getName())
+                        .write("\", \"is_completed\" : \"").write(isCompleted).write("\"}");
             }
+            out.end();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write response'}");
         }
-
-        System.out.println("{ 'status' : 'ok', 'message' : '[" + s + "]'}");
     }
 
     /**
      * Prints information about a specific quiz indicated by its ID (if said ID is found to be valid).
-     * @param args command line arguments passed to the "-get-quizz-details-by-id" command.
+     * @param request arguments passed to the "-get-quizz-details-by-id" command.
      * @param db database storing current system information.
      */
-    public static void getDetails(String[] args, Database db) {
-        if (User.login(args, db) == null) {
-            return;
-        }
-
-        Quiz quiz = Quiz.isValidID(Integer.parseInt(args[3].split("'")[1]), db);
+    public static void getDetails(Request request, Database db) {
+        Quiz quiz = Quiz.isValidID(request.intValue(3), db);
         if (quiz == null) {
             System.out.println("{ 'status' : 'error', 'message' : 'Quizz ID does not exist'}");
             return;
         }
 
-        String s ="";
-        for (int i = 0; i < quiz.questions.length; i++) {
-            Question question = quiz.questions[i];
-            String ans = "";
-
-            for (int j = 0; j < question.getAnswers().length; j++) {
-                if (ans.equals("")) {
-                    ans += "{\"answer_name\":\"" + question.getAnswers()[j].getText() + "\", \"answer_id\":\"" + question.getAnswers()[j].getId() + "\"}";
-                } else {
-                    ans += ", {\"answer_name\":\"" + question.getAnswers()[j].getText() + "\", \"answer_id\":\"" + question.getAnswers()[j].getId() + "\"}";
+        try {
+            ResponseWriter out = new ResponseWriter().begin();
+            for (int i = 0; i < quiz.questions.length; i++) {
+                Question question = quiz.questions[i];
+                out.item().write("{\"question-name\":\"").write(question.getText())
+                        .write("\", \"question_index\":\"").write(i + 1)
+                        .write("\", \"question_type\":\"").write(question.getType())
+                        .write("\", \"answers\":\"[").beginList();
+
+                for (int j = 0; j < question.getAnswers().length; j++) {
+                    out.item().write("{\"answer_name\":\"").write(question.getAnswers()[j].getText())
+                            .write("\", \"answer_id\":\"").write(question.getAnswers()[j].getId()).write("\"}");
                 }
-            }
 
-            if (s.equals("")) {
-                s += "{\"question-name\":\"" + question.getText() + "\", \"question_index\":\"" + (i + 1) +
-                        "\", \"question_type\":\"" + question.getType() + "\", \"answers\":\"[" + ans + "]\"}";
-            } else {
-                s += ", {\"question-name\":\"" + question.getText() + "\", \"question_index\":\"" + (i + 1) +
-                        "\", \"question_type\":\"" + question.getType() + "\", \"answers\":\"[" + ans + "]\"}";
+                out.endList().write("]\"}");
             }
+            out.end();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write response'}");
         }
-
-        System.out.println("{ 'status' : 'ok', 'message' : '[" + s + "]'}");
     }
 
     /**
@@ -220,13 +230,7 @@ public class Quiz {
      * @return reference to Quiz object with the given ID found in the database; null if no such quiz is found.
      */
     public static Quiz isValidID(int id, Database db) {
-        for (int i = 0; i < db.getNoQuizzes(); i++) {
-            if (id == db.quizzes[i].getId()) {
-                return db.quizzes[i];
-            }
-        }
-
-        return null;
+        return db.findQuiz(id);
     }
 
     /**
@@ -235,42 +239,29 @@ public class Quiz {
      * @return true if quiz was submitted by given user; false otherwise.
      */
     public boolean isSubmitted(User user) {
-        if (user.getSolutions() == null) {
-            return false;
-        }
-
-        for (int i = 0; i < user.getSolutions().length; i++) {
-            if (this.equals(user.getSolutions()[i].getQuiz())) {
-                return true;
-            }
-        }
-
-        return false;
+        return user.isQuizIDCompleted(this.id);
     }
 
     /**
      * Verifies validity of the command line arguments passed to the "-delete-quizz-by-id" command and triggers
      * the removal of the quiz indicated by said arguments from the database.
-     * @param args command line arguments passed to the "-delete-quizz-by-id" command.
+     * @param user user deleting the quiz, already logged in.
+     * @param request arguments passed to the "-delete-quizz-by-id" command.
      * @param db database storing current system information.
      */
-    public static void deleteQuiz(String[] args, Database db) {
-        if (User.login(args, db) == null) {
-            return;
-        }
-
-        if (args.length == 3) {
+    public static void deleteQuiz(User user, Request request, Database db) {
+        if (request.size() == 3) {
             System.out.println("{ 'status' : 'error', 'message' : 'No quizz identifier was provided'}");
             return;
         }
 
-        if (Quiz.isValidID(Integer.parseInt(args[3].split("'")[1]), db) == null) {
+        Quiz quiz = Quiz.isValidID(request.intValue(3), db);
+        if (quiz == null) {
             System.out.println("{ 'status' : 'error', 'message' : 'No quiz was found'}");
             return;
         }
 
-        Quiz quiz = Quiz.isValidID(Integer.parseInt(args[3].split("'")[1]), db);
-        if (!quiz.user.equals(User.login(args, db))) {
+        if (!quiz.user.equals(user)) {
             System.out.println("{ 'status' : 'error', 'message' : 'You can only delete the quizzes you created'}");
             return;
         }
@@ -280,30 +271,17 @@ public class Quiz {
     }
 
     /**
-     * Removes current quiz (this) from the database (file and array): Quizzes.csv is deleted and re-written
-     * without the quiz that needs to be removed; all solutions of said quiz are also removed.
+     * Removes current quiz (this) from the database: a tombstone for its ID is appended to "Deleted.csv" instead
+     * of rewriting the files, the quiz and all its solutions are removed from memory, and the files are compacted
+     * once enough of their rows are dead.
      * @param db database storing current system information.
      */
     public void delete(Database db) {
-        File quizzes = new File("Quizzes.csv");
-        quizzes.delete();
-
-        int index = 0;
-        for (int i = 0; i < db.getNoQuizzes(); i++) {
-            if (this.equals(db.quizzes[i])) {
-                index = i;
-                continue;
-            }
-            db.write("Quizzes.csv", db.quizzes[i].toString());
-        }
-
-        for (int i = index; i < db.getNoQuizzes() - 1; i++) {
-            db.quizzes[i] = db.quizzes[i + 1];
-        }
-
-        db.setNoQuizzes(db.getNoQuizzes() + 1);
+        db.deleteQuiz(this);
 
         SolvedQuiz.remove(this, db);
+
+        db.compactIfNeeded();
     }
 
     /**
@@ -311,16 +289,15 @@ public class Quiz {
      * @return String representing a Quiz.
      */
     public String toString() {
-        String s = "";
+        StringBuilder s = new StringBuilder().append(this.id).append(',').append(this.user).append(',').append(this.name).append(',');
         for (int i = 0; i < this.questions.length; i++) {
-            if (s.equals("")) {
-                s += this.questions[i].getId();
-            } else {
-                s += "," + this.questions[i].getId();
+            if (i > 0) {
+                s.append(',');
             }
+            s.append(this.questions[i].getId());
         }
 
-        return this.id + "," + this.user + "," + this.name + "," + s;
+        return s.toString();
     }
 
     /**
@@ -336,8 +313,19 @@ public class Quiz {
      * Clears all quiz related data from the file system.
      */
     public static void clean() {
-        count = 1;
+        count.set(1);
         File quiz_file = new File("Quizzes.csv");
         quiz_file.delete();
+        File deleted_file = new File("Deleted.csv");
+        deleted_file.delete();
+    }
+
+    /**
+     * Makes sure the static counter never hands out an ID that is already used (or was used by a deleted quiz)
+     * in the files read at startup.
+     * @param id quiz ID found in the files.
+     */
+    static void reserveId(int id) {
+        count.accumulateAndGet(id + 1, Math::max);
     }
 }
@@ -0,0 +1,149 @@
+package com.example.project;
+
+import java.util.Arrays;
+
+/**
+ * Class that scores submissions to a quiz using bitmasks instead of walking the Question and Answer objects.
+ * Every answer of a question is given one bit (in the order of the question's answers), each question being
+ * described by the mask of its correct answers, the mask of its wrong answers and their weights; a submission is
+ * turned into one selection mask per question, and the score of a question is computed from the popcounts of the
+ * selection intersected with the two masks.
+ *
+ * Questions have at most 5 answers when created through "-create-question"; the masks hold up to 64. Scores are
+ * the same as the ones of User.addSolution, up to floating-point rounding of the per-question sums. The commands
+ * still score through User.score; the scorer is compared with it by ScoringBenchmark.
+ */
+public class QuizScorer {
+
+    /**
+     * Largest number of answers a question can have to be scored with bitmasks.
+     */
+    public static final int MAX_ANSWERS = Long.SIZE;
+
+    private final long[] correctMasks;
+    private final long[] wrongMasks;
+    private final double[] correctScores;
+    private final double[] wrongScores;
+    private final double marksPerQuestion;
+
+    /**
+     * IDs of all answers of the quiz in ascending order, with the question and bit of each one; an answer of a
+     * question listed more than once by the quiz appears once for every occurrence of the question.
+     */
+    private final int[] answerIDs;
+    private final int[] answerQuestions;
+    private final long[] answerBits;
+
+    /**
+     * Constructor with parameters; builds the masks of all questions of a quiz.
+     * @param quiz quiz to be scored.
+     * @throws IllegalArgumentException if a question has more than MAX_ANSWERS answers.
+     */
+    public QuizScorer(Quiz quiz) {
+        Question[] questions = quiz.getQuestions();
+        this.correctMasks = new long[questions.length];
+        this.wrongMasks = new long[questions.length];
+        this.correctScores = new double[questions.length];
+        this.wrongScores = new double[questions.length];
+        this.marksPerQuestion = 100f / questions.length;
+
+        int noAnswers = 0;
+        for (Question question : questions) {
+            if (question.getAnswers().length > MAX_ANSWERS) {
+                throw new IllegalArgumentException("Question " + question.getId() + " has too many answers");
+            }
+            noAnswers += question.getAnswers().length;
+        }
+
+        long[] entries = new long[noAnswers];
+        int n = 0;
+        for (int i = 0; i < questions.length; i++) {
+            Answer[] answers = questions[i].getAnswers();
+            for (int j = 0; j < answers.length; j++) {
+                if (answers[j].getValue()) {
+                    this.correctMasks[i] |= 1L << j;
+                } else {
+                    this.wrongMasks[i] |= 1L << j;
+                }
+                entries[n++] = ((long) answers[j].getId() << 32) | ((long) i << 6) | j;
+            }
+            // a question without correct (or wrong) answers has an infinite weight for them, which is never used;
+            // it is stored as 0 so that an empty intersection does not turn the score into 0 * Infinity = NaN
+            this.correctScores[i] = this.correctMasks[i] == 0 ? 0 : questions[i].getCorrectAnswerScore();
+            this.wrongScores[i] = this.wrongMasks[i] == 0 ? 0 : questions[i].getWrongAnswerScore();
+        }
+
+        Arrays.sort(entries);
+        this.answerIDs = new int[noAnswers];
+        this.answerQuestions = new int[noAnswers];
+        this.answerBits = new long[noAnswers];
+        for (int i = 0; i < noAnswers; i++) {
+            this.answerIDs[i] = (int) (entries[i] >> 32);
+            this.answerQuestions[i] = (int) (entries[i] & 0xFFFFFFFFL) >>> 6;
+            this.answerBits[i] = 1L << (entries[i] & 63);
+        }
+    }
+
+    public int getNoQuestions() {
+        return correctMasks.length;
+    }
+
+    /**
+     * Turns the IDs of the chosen answers into one selection mask per question; IDs that are not answers of the
+     * quiz are ignored, an ID chosen more than once counts once, and the answer of a question listed more than once
+     * is selected in every occurrence of the question.
+     * @param answerIDs array of int values representing the IDs of all the answers chosen by a user.
+     * @return selection mask of every question, in the order of the quiz's questions.
+     */
+    public long[] select(int[] answerIDs) {
+        long[] selection = new long[this.correctMasks.length];
+        for (int answerID : answerIDs) {
+            int i = Arrays.binarySearch(this.answerIDs, answerID);
+            if (i < 0) {
+                continue;
+            }
+            while (i > 0 && this.answerIDs[i - 1] == answerID) {
+                i--;
+            }
+            for (; i < this.answerIDs.length && this.answerIDs[i] == answerID; i++) {
+                selection[this.answerQuestions[i]] |= this.answerBits[i];
+            }
+        }
+
+        return selection;
+    }
+
+    /**
+     * Calculates the score (out of 1) of one question for a selection mask.
+     * @param question index of the question in the quiz.
+     * @param selection selection mask of the question.
+     * @return score for the question.
+     */
+    public double score(int question, long selection) {
+        return Long.bitCount(selection & this.correctMasks[question]) * this.correctScores[question]
+                + Long.bitCount(selection & this.wrongMasks[question]) * this.wrongScores[question];
+    }
+
+    /**
+     * Calculates the total score of a submission given as selection masks.
+     * @param selection selection mask of every question, as built by select().
+     * @return score out of 100, rounded and never negative.
+     */
+    public int score(long[] selection) {
+        double score = 0;
+        for (int i = 0; i < selection.length; i++) {
+            score += this.marksPerQuestion * this.score(i, selection[i]);
+        }
+
+        return score < 0 ? 0 : (int) Math.round(score);
+    }
+
+    /**
+     * Calculates the total score of a submission given as the IDs of the chosen answers.
+     * @param answerIDs array of int values representing the IDs of all the answers chosen by a user.
+     * @return score out of 100, rounded and never negative.
+     */
+    public int score(int[] answerIDs) {
+        return this.score(this.select(answerIDs));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.project;
+
+/**
+ * Class that holds the arguments of a command parsed once, in a single pass over each of them: for every
+ * "-flag 'value'" argument only the positions of its flag and of its value are kept, so that handlers can compare
+ * flags and read numeric values without splitting the argument or allocating anything; a value is copied out as a
+ * String only when a handler asks for it.
+ *
+ * The flag of an argument is its text before the first single quote, trimmed (e.g. "-answer-1"); its value is the
+ * text between the first single quote and the next one (or the end of the argument), like the second element of
+ * String.split("'"), and it is missing when that text is empty.
+ */
+public class Request {
+
+    /**
+     * Command line arguments, the command name being the first one.
+     */
+    private final String[] args;
+
+    /**
+     * For every argument: start and end of its flag, start and end of its value (both -1 if it has no value).
+     */
+    private final int[] bounds;
+
+    /**
+     * Constructor with parameters; parses all arguments.
+     * @param args command line arguments representing a command.
+     */
+    public Request(String[] args) {
+        this.args = args;
+        this.bounds = new int[args.length * 4];
+        for (int i = 0; i < args.length; i++) {
+            this.scan(i);
+        }
+    }
+
+    /**
+     * Finds the positions of the flag and of the value of an argument.
+     * @param i position of the argument.
+     */
+    private void scan(int i) {
+        String arg = this.args[i];
+        int length = arg.length();
+        int quote = arg.indexOf('\'');
+        int flagEnd = quote < 0 ? length : quote;
+
+        int flagStart = 0;
+        while (flagStart < flagEnd && Character.isWhitespace(arg.charAt(flagStart))) {
+            flagStart++;
+        }
+        while (flagEnd > flagStart && Character.isWhitespace(arg.charAt(flagEnd - 1))) {
+            flagEnd--;
+        }
+
+        int valueStart = -1, valueEnd = -1;
+        if (quote >= 0) {
+            int close = arg.indexOf('\'', quote + 1);
+            if ((close < 0 ? length : close) > quote + 1) {
+                valueStart = quote + 1;
+                valueEnd = close < 0 ? length : close;
+            }
+        }
+
+        this.bounds[4 * i] = flagStart;
+        this.bounds[4 * i + 1] = flagEnd;
+        this.bounds[4 * i + 2] = valueStart;
+        this.bounds[4 * i + 3] = valueEnd;
+    }
+
+    public int size() {
+        return args.length;
+    }
+
+    public String getType() {
+        return args[0];
+    }
+
+    public String[] getArguments() {
+        return args;
+    }
+
+    /**
+     * Checks the flag of an argument.
+     * @param i position of the argument.
+     * @param flag expected flag, e.g. "-text".
+     * @return true if there is an argument at the position and its flag is the given one; false otherwise.
+     */
+    public boolean is(int i, String flag) {
+        if (i >= this.args.length) {
+            return false;
+        }
+
+        int start = this.bounds[4 * i];
+        return this.bounds[4 * i + 1] - start == flag.length() && this.args[i].startsWith(flag, start);
+    }
+
+    /**
+     * Checks the flag of a numbered argument, such as "-answer-2-is-correct", without building the expected flag.
+     * @param i position of the argument.
+     * @param prefix part of the flag before the number, e.g. "-answer-".
+     * @param number number in the flag, non-negative.
+     * @param suffix part of the flag after the number, e.g. "-is-correct"; empty if there is none.
+     * @return true if there is an argument at the position and its flag is prefix + number + suffix; false otherwise.
+     */
+    public boolean is(int i, String prefix, int number, String suffix) {
+        if (i >= this.args.length) {
+            return false;
+        }
+
+        String arg = this.args[i];
+        int start = this.bounds[4 * i], end = this.bounds[4 * i + 1];
+        int numberStart = start + prefix.length(), numberEnd = end - suffix.length();
+        if (numberEnd <= numberStart || !arg.startsWith(prefix, start) || !arg.startsWith(suffix, numberEnd)) {
+            return false;
+        }
+
+        int digits = 1;
+        for (int n = number; n >= 10; n /= 10) {
+            digits++;
+        }
+        if (numberEnd - numberStart != digits) {
+            return false;
+        }
+        for (int n = number, k = numberEnd - 1; k >= numberStart; n /= 10, k--) {
+            if (arg.charAt(k) != (char) ('0' + n % 10)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether an argument has a value.
+     * @param i position of the argument.
+     * @return true if there is an argument at the position and it has a non-empty value; false otherwise.
+     */
+    public boolean hasValue(int i) {
+        return i < this.args.length && this.bounds[4 * i + 2] >= 0;
+    }
+
+    /**
+     * Gives the value of an argument.
+     * @param i position of the argument.
+     * @return value of the argument; null if there is no argument at the position or it has no value.
+     */
+    public String value(int i) {
+        if (!this.hasValue(i)) {
+            return null;
+        }
+
+        return this.args[i].substring(this.bounds[4 * i + 2], this.bounds[4 * i + 3]);
+    }
+
+    /**
+     * Compares the value of an argument with a given text.
+     * @param i position of the argument.
+     * @param text text to compare with.
+     * @return true if the argument has a value equal to the text; false otherwise.
+     */
+    public boolean valueEquals(int i, String text) {
+        return this.hasValue(i) && this.bounds[4 * i + 3] - this.bounds[4 * i + 2] == text.length()
+                && this.args[i].startsWith(text, this.bounds[4 * i + 2]);
+    }
+
+    /**
+     * Parses the value of an argument as a decimal integer, directly from the argument.
+     * @param i position of the argument.
+     * @return value of the argument.
+     * @throws NumberFormatException if there is no value or it is not a valid integer.
+     */
+    public int intValue(int i) {
+        if (!this.hasValue(i)) {
+            throw new NumberFormatException("Missing value");
+        }
+
+        return Integer.parseInt(this.args[i], this.bounds[4 * i + 2], this.bounds[4 * i + 3], 10);
+    }
+
+    /**
+     * Finds an optional argument given anywhere after the credentials.
+     * @param flag flag of the argument, e.g. "-page-size".
+     * @return position of the first argument with the flag and a value; -1 if it is not provided.
+     */
+    public int option(String flag) {
+        for (int i = 3; i < this.args.length; i++) {
+            if (this.is(i, flag) && this.hasValue(i)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
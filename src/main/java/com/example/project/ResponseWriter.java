@@ -0,0 +1,115 @@
+package com.example.project;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class that streams a listing response ("{ 'status' : 'ok', 'message' : '[...]'}") to an output stream entry by
+ * entry through a fixed-size buffer, instead of building the whole message as one String first. Lists can be
+ * nested (e.g. the answers of each question in a quiz); the ", " separators between the entries of each list are
+ * written by item().
+ */
+public class ResponseWriter {
+
+    private final Writer out;
+
+    /**
+     * For each open list (the outermost one first), whether no entry was written in it yet.
+     */
+    private boolean[] first = new boolean[4];
+    private int depth = 0;
+
+    /**
+     * Constructor with parameters.
+     * @param out stream the response is written to; flushed, but not closed, by end().
+     */
+    public ResponseWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 13);
+    }
+
+    /**
+     * Constructor without parameters; the response is written to the standard output.
+     */
+    public ResponseWriter() {
+        this(System.out);
+    }
+
+    /**
+     * Starts an "ok" response holding a list.
+     * @return the writer.
+     * @throws IOException if writing fails.
+     */
+    public ResponseWriter begin() throws IOException {
+        this.out.write("{ 'status' : 'ok', 'message' : '[");
+        return this.beginList();
+    }
+
+    /**
+     * Starts a list nested in the current entry; the "[" itself is written by the caller.
+     * @return the writer.
+     */
+    public ResponseWriter beginList() {
+        if (this.depth == this.first.length) {
+            this.first = Arrays.copyOf(this.first, this.depth * 2);
+        }
+        this.first[this.depth++] = true;
+        return this;
+    }
+
+    /**
+     * Ends the current nested list; the "]" itself is written by the caller.
+     * @return the writer.
+     */
+    public ResponseWriter endList() {
+        this.depth--;
+        return this;
+    }
+
+    /**
+     * Starts a new entry of the current list, writing the separator from the previous entry if there is one.
+     * @return the writer.
+     * @throws IOException if writing fails.
+     */
+    public ResponseWriter item() throws IOException {
+        if (this.first[this.depth - 1]) {
+            this.first[this.depth - 1] = false;
+        } else {
+            this.out.write(", ");
+        }
+        return this;
+    }
+
+    /**
+     * Writes text as it is.
+     * @param text text to be written.
+     * @return the writer.
+     * @throws IOException if writing fails.
+     */
+    public ResponseWriter write(String text) throws IOException {
+        this.out.write(text);
+        return this;
+    }
+
+    /**
+     * Writes a number in decimal.
+     * @param value number to be written.
+     * @return the writer.
+     * @throws IOException if writing fails.
+     */
+    public ResponseWriter write(int value) throws IOException {
+        this.out.write(Integer.toString(value));
+        return this;
+    }
+
+    /**
+     * Ends the response started by begin() and flushes it.
+     * @throws IOException if writing fails.
+     */
+    public void end() throws IOException {
+        this.endList();
+        this.out.write("]'}");
+        this.out.write(System.lineSeparator());
+        this.out.flush();
+    }
+}
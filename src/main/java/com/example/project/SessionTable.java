@@ -0,0 +1,118 @@
+package com.example.project;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class that keeps the sessions opened by the "-login" command: every session is an opaque random token bound to
+ * the User object it was opened for, so that commands authenticated with "-token 'T'" find their user with a single
+ * lookup instead of resolving credentials. A session expires after a period without use, set in seconds by the
+ * "quiz.session.ttl" system property (30 minutes by default); sessions only live as long as the database they
+ * belong to, i.e. for the whole of a daemon, batch or server session.
+ */
+public class SessionTable {
+
+    /**
+     * User of a session and the time at which the session expires.
+     */
+    private static class Session {
+        private final User user;
+        private volatile long expiresAt;
+
+        private Session(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Number of sessions opened between two sweeps of the expired ones.
+     */
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long ttlMillis;
+    private int opened = 0;
+
+    /**
+     * Constructor without parameters; the time to live is read from the "quiz.session.ttl" system property.
+     */
+    public SessionTable() {
+        this(Long.getLong("quiz.session.ttl", 1800L) * 1000);
+    }
+
+    /**
+     * Constructor with parameters.
+     * @param ttlMillis time after which an unused session expires, in milliseconds.
+     */
+    public SessionTable(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Opens a session for a user.
+     * @param user user already authenticated, as found in the database.
+     * @return token of the new session.
+     */
+    public String open(User user) {
+        byte[] bytes = new byte[16];
+        this.random.nextBytes(bytes);
+        StringBuilder token = new StringBuilder(32);
+        for (byte b : bytes) {
+            token.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        this.sessions.put(token.toString(), new Session(user, System.currentTimeMillis() + this.ttlMillis));
+        synchronized (this) {
+            if (++this.opened % SWEEP_INTERVAL == 0) {
+                long now = System.currentTimeMillis();
+                this.sessions.values().removeIf(session -> session.expiresAt <= now);
+            }
+        }
+
+        return token.toString();
+    }
+
+    /**
+     * Finds the user of a session, extending the session's lifetime.
+     * @param token token of the session.
+     * @return user the session was opened for; null if there is no such session or it expired.
+     */
+    public User resolve(String token) {
+        Session session = this.sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (session.expiresAt <= now) {
+            this.sessions.remove(token, session);
+            return null;
+        }
+
+        session.expiresAt = now + this.ttlMillis;
+        return session.user;
+    }
+
+    /**
+     * Closes a session.
+     * @param token token of the session.
+     * @return true if the session existed and had not expired; false otherwise.
+     */
+    public boolean close(String token) {
+        Session session = this.sessions.remove(token);
+        return session != null && session.expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Closes all sessions.
+     */
+    public void clear() {
+        this.sessions.clear();
+    }
+}
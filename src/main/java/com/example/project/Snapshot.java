@@ -0,0 +1,244 @@
+package com.example.project;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+
+/**
+ * Class that saves the whole database in a compact binary file ("Snapshot.bin") and loads it back in a single
+ * sequential read, as a faster alternative to parsing the CSV files at startup.
+ *
+ * The file holds, in order: a header (magic number, format version and the length and modification time of every
+ * CSV file at the moment the snapshot was taken), a table of all distinct strings, then the users, questions,
+ * quizzes and solutions as length-prefixed records of int fields, strings being referenced by their index in the
+ * table. A snapshot whose recorded CSV stamps no longer match the files on disk is stale and is ignored.
+ */
+public class Snapshot {
+
+    /**
+     * Name of the snapshot file.
+     */
+    public static final String FILE = "Snapshot.bin";
+
+    private static final int MAGIC = 0x51554958;
+    private static final int VERSION = 2;
+    private static final String[] CSV_FILES = {"Users.csv", "Questions.csv", "Quizzes.csv", "Solutions.csv", "Deleted.csv"};
+
+    /**
+     * Writes all data currently in the database to a snapshot file, through a temporary file that then replaces
+     * it, so that a crash while writing never leaves a torn snapshot behind.
+     * @param db database to be saved.
+     * @param file name of the snapshot file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Database db, String file) throws IOException {
+        db.sync();
+        db.loadAllSolutions();
+
+        LinkedHashMap<String, Integer> strings = new LinkedHashMap<>();
+        for (int i = 0; i < db.getNoUsers(); i++) {
+            intern(strings, db.users[i].getUsername());
+            intern(strings, db.users[i].getPassword());
+        }
+        for (int i = 0; i < db.getNoQuestions(); i++) {
+            intern(strings, db.questions[i].getText());
+            intern(strings, db.questions[i].getType());
+            for (Answer answer : db.questions[i].getAnswers()) {
+                intern(strings, answer.getText());
+            }
+        }
+        for (int i = 0; i < db.getNoQuizzes(); i++) {
+            intern(strings, db.quizzes[i].getUser().getUsername());
+            intern(strings, db.quizzes[i].getUser().getPassword());
+            intern(strings, db.quizzes[i].getName());
+        }
+
+        File tmp = new File(file + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (String csv : CSV_FILES) {
+                File f = new File(csv);
+                out.writeLong(f.exists() ? f.length() : -1);
+                out.writeLong(f.exists() ? f.lastModified() : -1);
+            }
+
+            out.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            int noSolutions = 0;
+            out.writeInt(db.getNoUsers());
+            for (int i = 0; i < db.getNoUsers(); i++) {
+                User user = db.users[i];
+                out.writeInt(strings.get(user.getUsername()));
+                out.writeInt(strings.get(user.getPassword()));
+                noSolutions += user.getSolCount();
+            }
+
+            out.writeInt(db.getNoQuestions());
+            for (int i = 0; i < db.getNoQuestions(); i++) {
+                Question question = db.questions[i];
+                out.writeInt(question.getId());
+                out.writeInt(strings.get(question.getText()));
+                out.writeInt(strings.get(question.getType()));
+                out.writeInt(question.getAnswers().length);
+                for (Answer answer : question.getAnswers()) {
+                    out.writeInt(answer.getId());
+                    out.writeInt(strings.get(answer.getText()));
+                    out.writeBoolean(answer.getValue());
+                }
+            }
+
+            out.writeInt(db.getNoQuizzes());
+            for (int i = 0; i < db.getNoQuizzes(); i++) {
+                Quiz quiz = db.quizzes[i];
+                out.writeInt(quiz.getId());
+                out.writeInt(strings.get(quiz.getUser().getUsername()));
+                out.writeInt(strings.get(quiz.getUser().getPassword()));
+                out.writeInt(strings.get(quiz.getName()));
+                out.writeInt(quiz.getQuestions().length);
+                for (Question question : quiz.getQuestions()) {
+                    out.writeInt(question.getId());
+                }
+            }
+
+            out.writeInt(noSolutions);
+            for (int i = 0; i < db.getNoUsers(); i++) {
+                User user = db.users[i];
+                for (int j = 0; j < user.getSolCount(); j++) {
+                    SolvedQuiz solution = user.getSolutionsIndex(j);
+                    out.writeInt(i);
+                    out.writeInt(solution.getQuiz().getId());
+                    out.writeInt(solution.getScore());
+                }
+            }
+        }
+        Metrics.written(tmp.length());
+        Files.move(tmp.toPath(), new File(file).toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Populates an empty database from a snapshot file, if the file exists and is up to date with the CSV files.
+     * @param db empty database to be populated.
+     * @param file name of the snapshot file.
+     * @return true if the database was loaded from the snapshot; false if the snapshot is missing, stale or
+     * unreadable, in which case the database is left empty.
+     */
+    public static boolean load(Database db, String file) {
+        if (!new File(file).exists()) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            for (String csv : CSV_FILES) {
+                File f = new File(csv);
+                long length = in.readLong();
+                long modified = in.readLong();
+                if (length != (f.exists() ? f.length() : -1) || modified != (f.exists() ? f.lastModified() : -1)) {
+                    return false;
+                }
+            }
+
+            String[] strings = new String[in.readInt()];
+            byte[] buffer = new byte[256];
+            for (int i = 0; i < strings.length; i++) {
+                int length = in.readInt();
+                if (length > buffer.length) {
+                    buffer = new byte[Math.max(length, buffer.length * 2)];
+                }
+                in.readFully(buffer, 0, length);
+                strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            }
+
+            int noUsers = in.readInt();
+            for (int i = 0; i < noUsers; i++) {
+                db.putUser(new User(strings[in.readInt()], strings[in.readInt()]));
+            }
+
+            int noQuestions = in.readInt();
+            for (int i = 0; i < noQuestions; i++) {
+                int id = in.readInt();
+                Question.reserveId(id);
+                String text = strings[in.readInt()];
+                String type = strings[in.readInt()];
+                Answer[] answers = new Answer[in.readInt()];
+                for (int j = 0; j < answers.length; j++) {
+                    answers[j] = new Answer(in.readInt(), strings[in.readInt()], in.readBoolean());
+                    Answer.reserveId(answers[j].getId());
+                }
+                db.putQuestion(new Question(id, text, type, answers));
+            }
+
+            int noQuizzes = in.readInt();
+            for (int i = 0; i < noQuizzes; i++) {
+                int id = in.readInt();
+                Quiz.reserveId(id);
+                User user = new User(strings[in.readInt()], strings[in.readInt()]);
+                String name = strings[in.readInt()];
+                Question[] questions = new Question[in.readInt()];
+                for (int j = 0; j < questions.length; j++) {
+                    questions[j] = db.findQuestion(in.readInt());
+                }
+                db.putQuiz(new Quiz(id, user, name, questions));
+            }
+
+            int noSolutions = in.readInt();
+            for (int i = 0; i < noSolutions; i++) {
+                User user = db.users[in.readInt()];
+                Quiz quiz = db.findQuiz(in.readInt());
+                user.appendSolution(new SolvedQuiz(quiz, in.readInt()));
+            }
+            Metrics.scanned(noUsers + noQuestions + noQuizzes + noSolutions);
+        } catch (IOException | RuntimeException e) {
+            db.clear();
+            return false;
+        }
+
+        Metrics.read(new File(file).length());
+        return true;
+    }
+
+    /**
+     * Saves a snapshot of the database; how much faster it loads than the CSV files is measured by the
+     * connect and connectFromSnapshot benchmarks of DatabaseBenchmark.
+     * @param db database to be saved.
+     */
+    public static void save(Database db) {
+        try {
+            write(db, FILE);
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write in file'}");
+            return;
+        }
+
+        System.out.println("{ 'status' : 'ok', 'message' : 'Snapshot saved'}");
+    }
+
+    /**
+     * Adds a string to the string table if it is not already there, giving it the next free index.
+     * @param strings string table, mapping every string to its index.
+     * @param s string to be added.
+     */
+    private static void intern(LinkedHashMap<String, Integer> strings, String s) {
+        strings.putIfAbsent(s, strings.size());
+    }
+
+    /**
+     * Clears the snapshot file from the file system.
+     */
+    public static void clean() {
+        File snapshot = new File(FILE);
+        snapshot.delete();
+        new File(FILE + ".tmp").delete();
+    }
+}
@@ -45,47 +45,16 @@ public class SolvedQuiz {
     }
 
     /**
-     * Removes all solutions of a certain quiz from the database: deletes "Solution.csv", deletes solutions from
-     * each users solution array and re-writes "Solutions.csv" with the updated data.
+     * Removes all solutions of a certain quiz from each user's solutions array. The rows of "Solutions.csv" are
+     * left in place: they are skipped at load time because the quiz is marked as deleted, and dropped when the
+     * files are compacted.
      * @param quiz quiz defining the solutions that need to be removed.
      * @param db database storing current system information.
      */
     public static void remove(Quiz quiz, Database db) {
-        File sol = new File("Solutions.csv");
-        sol.delete();
-
+        Metrics.scanned(db.getNoUsers());
         for (int i = 0; i < db.getNoUsers(); i++) {
-            User user = db.users[i];
-
-            if (user.getSolCount() == 0) {
-                continue;
-            }
-
-            int j = 0;
-            while (j < user.getSolCount() - 1) {
-                SolvedQuiz solution = user.getSolutionsIndex(i);
-                if (solution.getQuiz().equals(quiz)) {
-                    for (int k = j; k < user.getSolCount() - 2; k++) {
-                        user.setSolutionsIndex(k, user.getSolutionsIndex(k + 1));
-                    }
-                    user.setSolCount(user.getSolCount() - 1);
-                } else {
-                    j++;
-                }
-            }
-            if (user.getSolutionsIndex(user.getSolCount() - 1).getQuiz().equals(quiz)) {
-                user.setSolutionsIndex(user.getSolCount() - 1, null);
-                user.setSolCount(user.getSolCount() - 1);
-            }
-        }
-
-        for (int i = 0; i < db.getNoUsers(); i++) {
-            User user = db.users[i];
-
-            for (int j = 0; j < user.getSolCount(); j++) {
-                SolvedQuiz solution = user.getSolutionsIndex(i);
-                db.write("Solutions.csv", user.getUsername() + "," + solution.getQuiz().getId() + "," + solution.getScore());
-            }
+            db.users[i].removeSolutions(quiz);
         }
     }
 
@@ -1,7 +1,13 @@
 package com.example.project;
 
 import javax.xml.crypto.Data;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 
 /**
  * Starts running the project with the corresponding string of command line arguments
@@ -25,7 +31,135 @@ public class Tema1 {
         Database db = new Database();
         db.connect();
 
-		Command command = new Command(args);
-		command.interpreter(db);
+		// the rows still buffered by the append log reach the files even if a command fails
+		try {
+			if (args.length > 0 && args[0].equals("-daemon")) {
+				serve(db, new BufferedReader(new InputStreamReader(System.in)));
+				return;
+			}
+
+			if (args.length > 0 && args[0].equals("-batch")) {
+				batch(db, args.length > 1 ? args[1] : null);
+				return;
+			}
+
+			if (args.length > 0 && args[0].equals("-serve")) {
+				listen(db, args.length > 1 ? args[1] : "7070");
+				return;
+			}
+
+			if (args.length > 0 && args[0].equals("-bulk-submit")) {
+				BulkSubmission.run(db, args.length > 1 ? args[1] : null);
+				return;
+			}
+
+			Command command = new Command(args);
+			command.interpreter(db);
+		} finally {
+			db.close();
+		}
+	}
+
+	/**
+	 * Daemon mode: keeps the already loaded database resident and runs one command per line read from "in"
+	 * (written the same way as on the command line, e.g. "-get-all-quizzes -u 'name' -p 'password'") until
+	 * the input ends or an "-exit" line is read. Each command answers with exactly one line, flushed before
+	 * the next command is read.
+	 * @param db database loaded once for the whole session.
+	 * @param in source of command lines.
+	 */
+	public static void serve(Database db, BufferedReader in) {
+		try {
+			run(db, in, true);
+		} catch (IOException e) {
+			System.out.println("{ 'status' : 'error', 'message' : 'Could not read command'}");
+		}
+	}
+
+	/**
+	 * Server mode: keeps the already loaded database resident and serves commands over TCP on the loopback
+	 * interface (see CommandServer) until the process is stopped; the rows written are committed on shutdown.
+	 * @param db database shared by all connections.
+	 * @param port port to listen on.
+	 */
+	public static void listen(Database db, String port) {
+		CommandServer server;
+		try {
+			server = new CommandServer(db, Integer.parseInt(port));
+		} catch (NumberFormatException | IOException e) {
+			System.out.println("{ 'status' : 'error', 'message' : 'Could not listen on port " + port + "'}");
+			return;
+		}
+
+		Runtime.getRuntime().addShutdownHook(new Thread(db::close));
+		System.out.printf("{ 'status' : 'ok', 'message' : 'Listening on port %d'}\n", server.getPort());
+		System.out.flush();
+		server.serve();
+	}
+
+	/**
+	 * Batch mode: runs every command line of a file against the same database, with the responses buffered
+	 * instead of flushed one by one, and ends with a summary of the number of commands run and the throughput.
+	 * @param db database loaded once for the whole batch.
+	 * @param file name of the file holding one command per line.
+	 */
+	public static void batch(Database db, String file) {
+		if (file == null || !new File(file).exists()) {
+			System.out.println("{ 'status' : 'error', 'message' : 'Batch file not found'}");
+			return;
+		}
+
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new BufferedOutputStream(out, 1 << 16), false));
+		long start = System.nanoTime();
+		int executed = 0;
+		try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+			executed = run(db, in, false);
+		} catch (IOException e) {
+			System.out.println("{ 'status' : 'error', 'message' : 'Could not read file'}");
+		} finally {
+			System.out.flush();
+			System.setOut(out);
+		}
+
+		long elapsed = Math.max(System.nanoTime() - start, 1);
+		System.out.printf("{ 'status' : 'ok', 'message' : '%d commands in %d ms (%d commands/sec)'}\n",
+				executed, elapsed / 1_000_000, (long) (executed * 1e9 / elapsed));
+	}
+
+	/**
+	 * Runs one command per line read from "in" until the input ends or an "-exit" line is read; blank lines
+	 * are skipped. A command failing on invalid arguments (e.g. a non-numeric ID) is answered with an error and
+	 * the next one is run.
+	 * @param db database every command is run against.
+	 * @param in source of command lines.
+	 * @param flushEach whether the output is flushed after every command.
+	 * @return number of commands run.
+	 * @throws IOException if reading a line fails.
+	 */
+	static int run(Database db, BufferedReader in, boolean flushEach) throws IOException {
+		int executed = 0;
+		String line;
+		while ((line = in.readLine()) != null) {
+			Command command = Command.parse(line);
+			if (command == null) {
+				continue;
+			}
+			if (command.getType().equals("-exit")) {
+				break;
+			}
+
+			try {
+				command.interpreter(db);
+			} catch (RuntimeException e) {
+				System.out.println("{ 'status' : 'error', 'message' : 'Invalid command'}");
+			}
+			executed++;
+			if (flushEach) {
+				System.out.flush();
+			}
+		}
+
+		return executed;
 	}
 }
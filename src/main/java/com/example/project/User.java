@@ -14,6 +14,22 @@ public class User {
 
     private int solCount = 0;
 
+    /**
+     * Solutions of the user indexed by the ID of the quiz they belong to, kept in sync with the solutions array;
+     * null until the user has a solution, since most User objects (e.g. the authors of parsed quizzes) never do.
+     */
+    private IntMap<SolvedQuiz> solvedQuizzes;
+
+    /**
+     * Database whose solutions file still holds the solutions of the user, not loaded yet; null once they are in
+     * memory. The positions of the user's rows in that file are kept in solutionRows.
+     */
+    private volatile Database pendingSolutions;
+
+    private long[] solutionRows;
+
+    private int noSolutionRows = 0;
+
     /**
      * Constructor without parameters.
      */
@@ -40,6 +56,8 @@ public class User {
         this.username = username;
         this.password = password;
         this.solutions = solutions;
+        this.solCount = solutions == null ? 0 : solutions.length;
+        this.indexSolutions();
     }
 
     public String getUsername() {
@@ -59,29 +77,156 @@ public class User {
     }
 
     public SolvedQuiz[] getSolutions() {
+        this.ensureSolutions();
         return solutions;
     }
 
     public void setSolutions(SolvedQuiz[] solutions) {
+        this.ensureSolutions();
         this.solutions = solutions;
+        this.indexSolutions();
     }
 
     public SolvedQuiz getSolutionsIndex(int i) {
+        this.ensureSolutions();
         return solutions[i];
     }
 
     public void setSolutionsIndex(int i, SolvedQuiz solution) {
+        this.ensureSolutions();
+        SolvedQuiz previous = this.solutions[i];
+        if (previous != null && this.solvedQuizzes != null
+                && this.solvedQuizzes.get(previous.getQuiz().getId()) == previous) {
+            this.solvedQuizzes.remove(previous.getQuiz().getId());
+        }
         this.solutions[i] = solution;
+        if (solution != null) {
+            this.indexSolution(solution);
+        }
     }
 
     public int getSolCount() {
+        this.ensureSolutions();
         return solCount;
     }
 
     public void setSolCount(int solCount) {
+        this.ensureSolutions();
         this.solCount = solCount;
     }
 
+    /**
+     * Appends a solution to the solutions array, doubling its capacity when it is full; only the first
+     * solCount slots of the array are in use.
+     * @param solution solution to be added.
+     */
+    void appendSolution(SolvedQuiz solution) {
+        this.ensureSolutions();
+        this.loadSolution(solution);
+    }
+
+    /**
+     * Appends a solution read from the solutions file, without loading the pending ones first.
+     * @param solution solution to be added.
+     */
+    void loadSolution(SolvedQuiz solution) {
+        this.solutions = Database.grow(this.solutions, this.solCount);
+        this.solutions[this.solCount++] = solution;
+        this.indexSolution(solution);
+    }
+
+    /**
+     * Adds a solution to the index by quiz ID, creating the index for the first solution of the user, unless its
+     * quiz already has an indexed solution.
+     * @param solution solution to be indexed.
+     */
+    private void indexSolution(SolvedQuiz solution) {
+        if (this.solvedQuizzes == null) {
+            this.solvedQuizzes = new IntMap<>();
+        }
+        if (!this.solvedQuizzes.containsKey(solution.getQuiz().getId())) {
+            this.solvedQuizzes.put(solution.getQuiz().getId(), solution);
+        }
+    }
+
+    /**
+     * Removes all solutions of a quiz from the solutions array, keeping the order of the others.
+     * @param quiz quiz whose solutions are removed.
+     */
+    void removeSolutions(Quiz quiz) {
+        if (this.pendingSolutions != null || this.solvedQuizzes == null
+                || this.solvedQuizzes.remove(quiz.getId()) == null) {
+            return;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < this.solCount; i++) {
+            if (!this.solutions[i].getQuiz().equals(quiz)) {
+                this.solutions[kept++] = this.solutions[i];
+            }
+        }
+        for (int i = kept; i < this.solCount; i++) {
+            this.solutions[i] = null;
+        }
+        this.solCount = kept;
+    }
+
+    /**
+     * Marks the solutions of the user as still to be loaded from the solutions file of a database.
+     * @param db database whose solutions file holds the solutions; null once they are loaded.
+     */
+    void deferSolutions(Database db) {
+        this.solutionRows = null;
+        this.noSolutionRows = 0;
+        this.pendingSolutions = db;
+    }
+
+    boolean hasPendingSolutions() {
+        return pendingSolutions != null;
+    }
+
+    /**
+     * Records the position of one of the user's rows in the solutions file, while the file is being indexed.
+     * @param row offset of the row in the file (shifted left by 20 bits) and its length (in the low 20 bits).
+     */
+    void addSolutionRow(long row) {
+        if (this.solutionRows == null || this.noSolutionRows == this.solutionRows.length) {
+            this.solutionRows = Arrays.copyOf(this.solutionRows == null ? new long[0] : this.solutionRows,
+                    Math.max(4, this.noSolutionRows * 2));
+        }
+        this.solutionRows[this.noSolutionRows++] = row;
+    }
+
+    long[] getSolutionRows() {
+        return solutionRows;
+    }
+
+    int getNoSolutionRows() {
+        return noSolutionRows;
+    }
+
+    /**
+     * Loads the solutions of the user from the solutions file the first time they are needed; every method reading
+     * or changing the solutions calls it first. Loading is synchronized by the database, so concurrent read-only
+     * commands load each user once.
+     */
+    void ensureSolutions() {
+        Database db = this.pendingSolutions;
+        if (db != null) {
+            db.loadSolutions(this);
+        }
+    }
+
+    /**
+     * Rebuilds the index of solutions by quiz ID from the solutions array; when a quiz appears more than once, its
+     * first solution is the one indexed.
+     */
+    private void indexSolutions() {
+        this.solvedQuizzes = null;
+        for (int i = 0; i < this.solCount; i++) {
+            this.indexSolution(this.solutions[i]);
+        }
+    }
 
     /**
      * Checks whether a user with the same username as "this" is already registered in the database.
@@ -90,12 +235,7 @@ public class User {
      * null if the user does not exist.
      */
     public User alreadyExists(Database db) {
-        for (int i = 0; i < db.getNoUsers(); i++) {
-            if (this.username.equals(db.users[i].username)) {
-                return db.users[i];
-            }
-        }
-        return null;
+        return db.findUser(this.username);
     }
 
     /**
@@ -122,10 +262,9 @@ public class User {
      * @return reference to the user object found in the database; null if it is not a valid user.
      */
     public User userIsValid(Database db) {
-        for (int i = 0; i < db.getNoUsers(); i++) {
-            if (this.equals(db.users[i])) {
-                return db.users[i];
-            }
+        User found = db.findUser(this.username);
+        if (found != null && this.equals(found)) {
+            return found;
         }
 
         return null;
@@ -133,60 +272,91 @@ public class User {
 
     /**
      * Given the string of command line arguments passed to any command "login" verifies if all user credentials
-     * are provided and valid before permitting any new system actions.
-     * @param args
+     * are provided and valid before permitting any new system actions. Commands authenticated with a session token
+     * (see Command.TOKEN) find their user in the session table instead, with a single lookup.
+     * @param request
      * @param db
      * @return
      */
-    public static User login(String[] args, Database db) {
-        if (args.length <= 2) {
+    public static User login(Request request, Database db) {
+        if (request.size() <= 2) {
             System.out.println("{ 'status' : 'error', 'message' : 'You need to be authenticated' }");
             return null;
         }
 
-        String[] u = args[1].split("'");
-        String[] p = args[2].split("'");
-        User user = new User(u[1], p[1]);
-        if (!u[0].trim().equals("-u") || !p[0].trim().equals("-p") || user.userIsValid(db) == null) {
+        if (request.is(1, Command.TOKEN)) {
+            User user = request.hasValue(1) ? db.getSessions().resolve(request.value(1)) : null;
+            if (user == null) {
+                System.out.println("{ 'status' : 'error', 'message' : 'Invalid or expired session' }");
+            }
+            return user;
+        }
+
+        User found = request.is(1, "-u") && request.is(2, "-p") && request.hasValue(2) && request.hasValue(1)
+                ? db.findUser(request.value(1)) : null;
+        if (found != null && !request.valueEquals(2, found.getPassword())) {
+            found = null;
+        }
+        if (found == null) {
             System.out.println("{ 'status' : 'error', 'message' : 'Login failed' }");
-            return null;
         }
 
-        return user.userIsValid(db);
+        return found;
     }
 
     /**
-     * Verifies whether the quiz with a given ID was already submitted by the user (this).
-     * @param id quiz ID to check.
-     * @return true if quiz with given ID exists in the solutions array of the user; false otherwise.
+     * Opens a session for the user whose credentials are passed to the "-login" command, printing its token.
+     * @param request arguments passed to the "-login" command.
+     * @param db database storing current system information.
      */
-    public boolean isQuizIDCompleted(int id) {
-        if (this.solutions == null) {
-            return false;
+    public static void openSession(Request request, Database db) {
+        if (request.is(1, Command.TOKEN)) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Login failed' }");
+            return;
         }
 
-        for (int i = 0; i < this.solutions.length; i++) {
-            if (id == this.solutions[i].getQuiz().getId()) {
-                return true;
-            }
+        User user = User.login(request, db);
+        if (user == null) {
+            return;
         }
 
-        return false;
+        System.out.println("{ 'status' : 'ok', 'message' : '" + db.getSessions().open(user) + "'}");
     }
 
     /**
-     * Given the string of command line arguments, "submitQuiz" treats possible error cases of a submit attempt.
-     * @param args command line arguments given for the "-submit-quizz" command.
+     * Closes the session whose token is passed to the "-logout" command.
+     * @param request arguments passed to the "-logout" command.
      * @param db database storing current system information.
      */
-    public static void submitQuiz(String[] args, Database db) {
-        if (User.login(args, db) == null) {
+    public static void closeSession(Request request, Database db) {
+        if (!request.is(1, Command.TOKEN) || !request.hasValue(1) || !db.getSessions().close(request.value(1))) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Invalid or expired session' }");
             return;
         }
 
-        switch (checkAttempt(args, db)) {
+        System.out.println("{ 'status' : 'ok', 'message' : 'Logged out successfully'}");
+    }
+
+    /**
+     * Verifies whether the quiz with a given ID was already submitted by the user (this).
+     * @param id quiz ID to check.
+     * @return true if quiz with given ID exists in the solutions array of the user; false otherwise.
+     */
+    public boolean isQuizIDCompleted(int id) {
+        this.ensureSolutions();
+        return this.solvedQuizzes != null && this.solvedQuizzes.containsKey(id);
+    }
+
+    /**
+     * Given the string of command line arguments, "submitQuiz" treats possible error cases of a submit attempt.
+     * @param user user submitting the quiz, already logged in.
+     * @param request arguments given for the "-submit-quizz" command.
+     * @param db database storing current system information.
+     */
+    public static void submitQuiz(User user, Request request, Database db) {
+        switch (checkAttempt(user, request, db)) {
             case 0:
-                User.scoreQuiz(args, db);
+                User.scoreQuiz(user, request, db);
                 break;
             case 1:
                 System.out.println("{ 'status' : 'error', 'message' : 'No quizz identifier was provided'}");
@@ -205,27 +375,29 @@ public class User {
 
     /**
      * Verifies validity of a submit attempt made through the "-submit-quizz" command.
-     * @param args command line arguments given to command.
+     * @param user user attempting the submission, already logged in.
+     * @param request arguments given to command.
      * @param db database storing current system information.
      * @return 1 if only credentials were provided, without any quiz; 2 if the quiz ID provided does not exist;
      * 3 if the quiz has already been submitted by the current user; 4 if the quiz was created by the same user
      * that is attempting  to submit it; 0 if all checks succeeded.
      */
-    public static int checkAttempt(String[] args, Database db) {
-        if (args.length == 3 || args[3].split(" ").length == 1) {
+    public static int checkAttempt(User user, Request request, Database db) {
+        if (!request.hasValue(3)) {
             return 1;
         }
 
-        int id = Integer.parseInt(args[3].split("'")[1]);
-        if(Quiz.isValidID(id, db) == null) {
+        int id = request.intValue(3);
+        Quiz quiz = Quiz.isValidID(id, db);
+        if(quiz == null) {
             return 2;
         }
 
-        if (Quiz.isValidID(id, db).isSubmitted(User.login(args, db))) {
+        if (quiz.isSubmitted(user)) {
             return 3;
         }
 
-        if (Quiz.isValidID(id, db).getUser().equals(User.login(args, db))) {
+        if (quiz.getUser().equals(user)) {
             return 4;
         }
 
@@ -235,17 +407,16 @@ public class User {
     /**
      * Given the valid string of command line arguments passed to the "-submit-quizz" command, "scoreQuiz"
      * instantiates the elements for a new solution and adds it to the database.
-     * @param args command line arguments passed to "-submit-quizz".
+     * @param user user submitting the quiz, already logged in.
+     * @param request arguments passed to "-submit-quizz".
      * @param db database storing current system information.
      */
-    public static void scoreQuiz(String[] args, Database db) {
-        User user = User.login(args, db);
-        int id = Integer.parseInt(args[3].split("'")[1]);
-        Quiz quiz = Quiz.isValidID(id, db);
+    public static void scoreQuiz(User user, Request request, Database db) {
+        Quiz quiz = Quiz.isValidID(request.intValue(3), db);
 
-        int[] answerIDs = new int[args.length - 4];
-        for (int i = 0; i < args.length - 4; i++) {
-            answerIDs[i] = Integer.parseInt(args[i + 4].split("'")[1]);
+        int[] answerIDs = new int[request.size() - 4];
+        for (int i = 0; i < answerIDs.length; i++) {
+            answerIDs[i] = request.intValue(i + 4);
         }
 
         user.addSolution(quiz, answerIDs, db);
@@ -255,32 +426,43 @@ public class User {
 
     /**
      * Calculates the score associated with a given quiz (question by question) based on a given list of answers
-     * and add a new solution to the solutions array of the current user; each question has the same proportion of
-     * the total score that gets multiplied with each question's individual score out of 1.
+     * and add a new solution to the solutions array of the current user.
      * @param quiz quiz to be scored.
      * @param answerIDs array of int values representing all IDs of answers submitted as correct.
      * @param db database storing current system information.
      */
     public void addSolution(Quiz quiz, int[] answerIDs, Database db) {
+        SolvedQuiz solution = new SolvedQuiz(quiz, User.score(quiz, answerIDs));
+        this.appendSolution(solution);
+
+        db.addSolution(this, solution);
+    }
+
+    /**
+     * Calculates the score associated with a given quiz (question by question) based on a given list of answers;
+     * each question has the same proportion of the total score that gets multiplied with each question's
+     * individual score out of 1.
+     * @param quiz quiz to be scored.
+     * @param answerIDs array of int values representing all IDs of answers submitted as correct.
+     * @return score out of 100, rounded and never negative.
+     */
+    public static int score(Quiz quiz, int[] answerIDs) {
         double score = 0;
 
         int noQuestions = quiz.getQuestions().length;
         double marksPerQuestion = 100f / noQuestions;
 
+        IntSet chosen = IntSet.of(answerIDs);
         for (int i = 0; i < quiz.getQuestions().length; i++) {
             Question currentQuestion = quiz.getQuestions()[i];
-            score += marksPerQuestion * currentQuestion.getScore(answerIDs);
+            score += marksPerQuestion * currentQuestion.getScore(chosen);
         }
 
         if (score < 0) {
             score = 0;
         }
 
-        SolvedQuiz solution = new SolvedQuiz(quiz, (int)Math.round(score));
-        this.solutions = Arrays.copyOf(this.solutions, this.solutions.length + 1);
-        this.solutions[this.solCount++] = solution;
-
-        db.addSolution(this, solution);
+        return (int)Math.round(score);
     }
 
     /**
@@ -289,37 +471,32 @@ public class User {
      * @return score for given quiz if it was previously submitted; -1 if it was not submitted.
      */
     public int getPoints(Quiz quiz) {
-        for (int i = 0; i < this.solutions.length; i++) {
-            if (quiz.equals(this.solutions[i].getQuiz())) {
-                return this.solutions[i].getScore();
-            }
-        }
-
-        return -1;
+        this.ensureSolutions();
+        SolvedQuiz solution = this.solvedQuizzes == null ? null : this.solvedQuizzes.get(quiz.getId());
+        return solution == null ? -1 : solution.getScore();
     }
 
     /**
      * Prints information about all quizzes with their associated scores found in the solutions array of the
      * current user.
-     * @param args command line arguments passe to the "-get-my-solutions" command.
+     * @param user user whose solutions are listed, already logged in.
      * @param db database storing current system information.
      */
-    public static void showSolutions(String[] args, Database db) {
-        if (User.login(args, db) == null) {
-            return;
-        }
-
-        String s = "";
-        User user = User.login(args, db);
-        for (int i = 0; i < user.solutions.length; i++) {
-            if (!s.equals("")) {
-                s += ", ";
+    public static void showSolutions(User user, Database db) {
+        user.ensureSolutions();
+        Metrics.scanned(user.solCount);
+        try {
+            ResponseWriter out = new ResponseWriter().begin();
+            for (int i = 0; i < user.solCount; i++) {
+                out.item().write("{\"quiz-id\" : \"").write(user.solutions[i].getQuiz().getId())
+                        .write("\", \"quiz-name\" : \"").write(user.solutions[i].getQuiz().getName())
+                        .write("\", \"score\" : \"").write(user.solutions[i].getScore())
+                        .write("\", \"index_in_list\" : \"").write(i + 1).write("\"}");
             }
-            s += "{\"quiz-id\" : \"" + user.solutions[i].getQuiz().getId() + "\", \"quiz-name\" : \"" + user.solutions[i].getQuiz().getName() +
-                    "\", \"score\" : \"" + user.solutions[i].getScore() + "\", \"index_in_list\" : \"" + (i + 1) + "\"}";
+            out.end();
+        } catch (IOException e) {
+            System.out.println("{ 'status' : 'error', 'message' : 'Could not write response'}");
         }
-
-        System.out.println("{ 'status' : 'ok', 'message' : '[" + s + "]'}");
     }
 
     /**
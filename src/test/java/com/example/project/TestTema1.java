@@ -2435,4 +2435,1046 @@ public class TestTema1
     }
 
     //endregion
+
+
+    //region 12 Daemon mode
+    @Test
+    public void testDaemonKeepsDatabaseBetweenCommands()
+    {
+        PrintStream originalOut = System.out;
+        InputStream originalIn = System.in;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        System.setIn(new ByteArrayInputStream(("-create-user -u 'test' -p 'test'\n" +
+                "-create-question -u 'test' -p 'test' -text 'Cerul este albastru' -type 'single' -answer-1 'Yes' -answer-1-is-correct '1' -answer-2 'No' -answer-2-is-correct '0'\n" +
+                "\n" +
+                "-get-question-id-by-text -u 'test' -p 'test' -text 'Cerul este albastru'\n" +
+                "-exit\n" +
+                "-get-all-questions -u 'test' -p 'test'\n").getBytes()));
+        Tema1.main(new String[]{"-daemon"});
+
+        // assertion
+        assertEquals(("{ 'status' : 'ok', 'message' : 'User created successfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : 'Question added successfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : '1'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    @Test
+    public void testDaemonSurvivesInvalidCommand()
+    {
+        PrintStream originalOut = System.out;
+        InputStream originalIn = System.in;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        System.setIn(new ByteArrayInputStream(("-create-user -u 'test' -p 'test'\n" +
+                "-get-quizz-details-by-id -u 'test' -p 'test' -id 'abc'\n" +
+                "-create-user -u 'test2' -p 'test2'\n").getBytes()));
+        Tema1.main(new String[]{"-daemon"});
+
+        // assertion
+        assertEquals(("{ 'status' : 'ok', 'message' : 'User created successfully'}\n" +
+                        "{ 'status' : 'error', 'message' : 'Invalid command'}\n" +
+                        "{ 'status' : 'ok', 'message' : 'User created successfully'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+        assertEquals(true, new File("Users.csv").length() > 0);
+
+        // undo the binding in System
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+
+    //region 13 Batch mode
+    @Test
+    public void testBatchRunsAllCommands() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        File batch = File.createTempFile("batch", ".txt");
+        try (PrintWriter writer = new PrintWriter(batch)) {
+            writer.println("-create-user -u 'test' -p 'test'");
+            writer.println("-create-user -u 'test' -p 'test'");
+            writer.println("-get-all-questions -u 'test' -p 'test'");
+        }
+
+        // action
+        Tema1.main(new String[]{"-batch", batch.getPath()});
+
+        // assertion
+        String[] lines = bos.toString().trim().split("\\R");
+        assertEquals(4, lines.length);
+        assertEquals("{ 'status' : 'ok', 'message' : 'User created successfully'}".replace("' ", "'").replace(" '","'"),
+                lines[0].replace("' ", "'").replace(" '","'"));
+        assertEquals("{ 'status' : 'error', 'message' : 'User already exists'}".replace("' ", "'").replace(" '","'"),
+                lines[1].replace("' ", "'").replace(" '","'"));
+        assertEquals("{ 'status' : 'ok', 'message' : '[]'}".replace("' ", "'").replace(" '","'"),
+                lines[2].replace("' ", "'").replace(" '","'"));
+        assertEquals(true, lines[3].startsWith("{ 'status' : 'ok', 'message' : '3 commands in "));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+        batch.delete();
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+
+    //region 14 Snapshot
+    @Test
+    public void testSnapshotLoadsSameData()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-user", "-u 'test2'", "-p 'test2'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '1'", "-answer-id-1 '1'"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-save-snapshot"});
+
+        // assertion
+        assertEquals(true, bos.toString().trim().startsWith("{ 'status' : 'ok', 'message' : 'Snapshot saved"));
+        assertEquals(true, new File(Snapshot.FILE).exists());
+
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-get-quizz-details-by-id", "-u 'test'", "-p 'test'", "-id '1'"});
+        Tema1.main(new String[]{"-get-my-solutions", "-u 'test2'", "-p 'test2'"});
+
+        // assertion
+        assertEquals(("{ 'status' : 'ok', 'message' : '[{\"question-name\":\"Cerul este albastru\", \"question_index\":\"1\", \"question_type\":\"single\", \"answers\":\"[{\"answer_name\":\"Yes\", \"answer_id\":\"1\"}, {\"answer_name\":\"No\", \"answer_id\":\"2\"}]\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quiz-id\" : \"1\", \"quiz-name\" : \"Chestionarul 1\", \"score\" : \"100\", \"index_in_list\" : \"1\"}]'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action: the snapshot is stale once the CSV files change
+        Tema1.main(new String[]{"-create-user", "-u 'test3'", "-p 'test3'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test3'", "-p 'test3'"});
+
+        // assertion
+        assertEquals(("{ 'status' : 'ok', 'message' : 'User created successfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quizz_id\" : \"1\", \"quizz_name\" : \"Chestionarul 1\", \"is_completed\" : \"False\"}]'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    @Test
+    public void testAnswerIdsReservedOnLoad()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'", "-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'", "-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+
+        // action: a restarted JVM starts counting answers from 1 again
+        int afterCreate = Answer.count.get();
+        Answer.count.set(1);
+        Database csv = new Database();
+        csv.connect();
+        int afterCsvLoad = Answer.count.get();
+
+        Tema1.main(new String[]{"-save-snapshot"});
+        Answer.count.set(1);
+        Database snapshot = new Database();
+        snapshot.connect();
+        int afterSnapshotLoad = Answer.count.get();
+
+        // assertion
+        assertEquals(3, afterCreate);
+        assertEquals(3, afterCsvLoad);
+        assertEquals(3, afterSnapshotLoad);
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+
+    //region 15 Memory-mapped loader
+    @Test
+    public void testMappedLoaderReadsSameDataAsCsv()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-user", "-u 'test2'", "-p 'test2'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Temperatura se poate măsura în'", "-type 'multiple'","-answer-1 'C'", "-answer-1-is-correct '1'", "-answer-2 'F'", "-answer-2-is-correct '1'", "-answer-3 'L'", "-answer-3-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'", "-question-2 '2'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '1'", "-answer-id-1 '1'", "-answer-id-2 '3'"});
+
+        // action
+        Database csv = new Database();
+        csv.readCsv();
+        Database mapped = new Database();
+        mapped.readMapped();
+
+        // assertion
+        assertEquals(csv.getNoUsers(), mapped.getNoUsers());
+        assertEquals(csv.getNoQuestions(), mapped.getNoQuestions());
+        assertEquals(csv.getNoQuizzes(), mapped.getNoQuizzes());
+        for (int i = 0; i < csv.getNoUsers(); i++) {
+            assertEquals(csv.users[i].toString(), mapped.users[i].toString());
+            assertEquals(csv.users[i].getSolCount(), mapped.users[i].getSolCount());
+        }
+        for (int i = 0; i < csv.getNoQuestions(); i++) {
+            assertEquals(csv.questions[i].toString(), mapped.questions[i].toString());
+            assertEquals(csv.questions[i].getAnswers()[1].getId(), mapped.questions[i].getAnswers()[1].getId());
+        }
+        assertEquals(csv.quizzes[0].toString(), mapped.quizzes[0].toString());
+        assertEquals(csv.findUser("test2").getSolutionsIndex(0).getScore(), mapped.findUser("test2").getSolutionsIndex(0).getScore());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+
+    //region 16 Incremental quiz deletion
+    @Test
+    public void testDeleteQuizWritesTombstoneThenCompacts() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-user", "-u 'test2'", "-p 'test2'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 2'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 3'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '1'", "-answer-id-1 '1'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '3'", "-answer-id-1 '2'"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-delete-quizz-by-id", "-u 'test'", "-p 'test'", "-id '1'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test2'", "-p 'test2'"});
+        Tema1.main(new String[]{"-get-my-solutions", "-u 'test2'", "-p 'test2'"});
+
+        // assertion: only a tombstone was written
+        assertEquals(("{ 'status' : 'ok', 'message' : 'Quizz deleted successfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quizz_id\" : \"2\", \"quizz_name\" : \"Chestionarul 2\", \"is_completed\" : \"False\"}, {\"quizz_id\" : \"3\", \"quizz_name\" : \"Chestionarul 3\", \"is_completed\" : \"True\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quiz-id\" : \"3\", \"quiz-name\" : \"Chestionarul 3\", \"score\" : \"0\", \"index_in_list\" : \"1\"}]'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+        assertEquals(3, java.nio.file.Files.readAllLines(new File("Quizzes.csv").toPath()).size());
+        assertEquals(true, new File("Deleted.csv").exists());
+
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-delete-quizz-by-id", "-u 'test'", "-p 'test'", "-id '3'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 4'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-get-quizz-by-name", "-u 'test'", "-p 'test'", "-name 'Chestionarul 4'"});
+        Tema1.main(new String[]{"-get-my-solutions", "-u 'test2'", "-p 'test2'"});
+
+        // assertion: the files were compacted once most quiz rows were dead
+        assertEquals(("{ 'status' : 'ok', 'message' : 'Quizz deleted successfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : 'Quizz added succesfully'}\n" +
+                        "{ 'status' : 'ok', 'message' : '4'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[]'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+        assertEquals(false, new File("Deleted.csv").exists());
+        assertEquals(0, java.nio.file.Files.readAllLines(new File("Solutions.csv").toPath()).size());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    @Test
+    public void testCorruptSnapshotKeepsTombstones() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'", "-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 2'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 3'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-delete-quizz-by-id", "-u 'test'", "-p 'test'", "-id '1'"});
+        Tema1.main(new String[]{"-save-snapshot"});
+        try (RandomAccessFile snapshot = new RandomAccessFile(Snapshot.FILE, "rw")) {
+            snapshot.setLength(120);
+        }
+        bos.reset();
+
+        // action
+        Tema1.main(new String[]{"-get-quizz-by-name", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'"});
+
+        // assertion
+        assertEquals("{ 'status' : 'error', 'message' : 'Quizz does not exist'}", bos.toString().trim());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+
+    //region 17 Paginated listing
+    @Test
+    public void testGetAllQuestionsAndQuizzesByPage()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Q1'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Q2'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Q3'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 2'", "-question-1 '2'"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-get-all-questions", "-u 'test'", "-p 'test'", "-page-size '2'"});
+        Tema1.main(new String[]{"-get-all-questions", "-u 'test'", "-p 'test'", "-page-size '2'", "-cursor '2'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test'", "-p 'test'", "-cursor '1'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test'", "-p 'test'", "-cursor '2'", "-page-size '5'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test'", "-p 'test'", "-page-size '0'"});
+
+        // assertion
+        assertEquals(("{ 'status' : 'ok', 'message' : '[{\"question_id\" : \"1\", \"question_name\" : \"Q1\"}, {\"question_id\" : \"2\", \"question_name\" : \"Q2\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"question_id\" : \"3\", \"question_name\" : \"Q3\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quizz_id\" : \"2\", \"quizz_name\" : \"Chestionarul 2\", \"is_completed\" : \"False\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[]'}\n" +
+                        "{ 'status' : 'error', 'message' : 'Invalid page size or cursor'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 18 Solved quizzes index
+    @Test
+    public void testIntMapPutGetRemove()
+    {
+        IntMap<String> map = new IntMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 16, "v" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("v" + i, map.remove(i * 16));
+        }
+
+        // assertion
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : "v" + i, map.get(i * 16));
+        }
+        assertEquals(false, map.containsKey(0));
+        assertEquals("v1", map.put(16, "w1"));
+        assertEquals("w1", map.get(16));
+    }
+
+    @Test
+    public void testSolvedQuizzesIndexWithoutSolutions()
+    {
+        User user = new User("test", "test");
+        Quiz quiz = new Quiz(1, new User("author", "author"), "Chestionarul 1", new Question[0]);
+
+        // assertion
+        assertEquals(false, user.isQuizIDCompleted(1));
+        assertEquals(-1, user.getPoints(quiz));
+        user.removeSolutions(quiz);
+        assertEquals(0, user.getSolCount());
+
+        // action
+        user.appendSolution(new SolvedQuiz(quiz, 50));
+
+        // assertion
+        assertEquals(true, user.isQuizIDCompleted(1));
+        assertEquals(50, user.getPoints(quiz));
+    }
+
+    //endregion
+    //region 19 Scoring tables
+    @Test
+    public void testQuestionScoreWithAnswerSet()
+    {
+        Question question = new Question(1, "Q", "multiple", new Answer[]{
+                new Answer(1, "A", true), new Answer(2, "B", true), new Answer(3, "C", false),
+                new Answer(4, "D", false), new Answer(5, "E", false)});
+
+        // assertion
+        assertEquals(0.5f, question.getCorrectAnswerScore());
+        assertEquals(-1f / 3, question.getWrongAnswerScore());
+        assertEquals(question.getScore(new int[]{1, 3, 1}), question.getScore(IntSet.of(new int[]{1, 3})));
+        assertEquals(1.0, question.getScore(IntSet.of(new int[]{2, 1, 7})));
+        assertEquals(0.0, question.getScore(new IntSet()));
+    }
+
+    //endregion
+    //region 20 Bitmask scorer
+    @Test
+    public void testBitmaskScorerMatchesObjectWalk()
+    {
+        Question[] questions = new Question[3];
+        int answerId = 1;
+        for (int i = 0; i < questions.length; i++) {
+            Answer[] answers = new Answer[i + 2];
+            for (int j = 0; j < answers.length; j++) {
+                answers[j] = new Answer(answerId++, "A" + j, j % 2 == 0);
+            }
+            questions[i] = new Question(i + 1, "Q" + i, "multiple", answers);
+        }
+        Quiz quiz = new Quiz(1, new User("test", "test"), "Chestionarul 1", questions);
+
+        // assertion
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < 200; i++) {
+            int[] answerIDs = new int[random.nextInt(6)];
+            for (int j = 0; j < answerIDs.length; j++) {
+                answerIDs[j] = random.nextInt(answerId + 2);
+            }
+            assertEquals(User.score(quiz, answerIDs), quiz.getScorer().score(answerIDs));
+        }
+        assertEquals(100, quiz.getScorer().score(new int[]{1, 3, 5, 6, 8}));
+    }
+
+    @Test
+    public void testBitmaskScorerWithoutCorrectOrWrongAnswers()
+    {
+        Question allCorrect = new Question(1, "Q1", "multiple", new Answer[]{new Answer(1, "A", true), new Answer(2, "B", true)});
+        Question allWrong = new Question(2, "Q2", "multiple", new Answer[]{new Answer(3, "C", false), new Answer(4, "D", false)});
+        Quiz quiz = new Quiz(1, new User("test", "test"), "Chestionarul 1", new Question[]{allCorrect, allWrong});
+
+        // assertion
+        for (int[] answerIDs : new int[][]{{1, 2}, {1}, {1, 2, 3}, {}, {3, 4}}) {
+            assertEquals(User.score(quiz, answerIDs), quiz.getScorer().score(answerIDs));
+        }
+        assertEquals(50, quiz.getScorer().score(new int[]{1, 2}));
+    }
+
+    @Test
+    public void testBitmaskScorerWithRepeatedQuestion()
+    {
+        Question question = new Question(1, "Q1", "single", new Answer[]{new Answer(1, "A", true), new Answer(2, "B", false)});
+        Quiz quiz = new Quiz(1, new User("test", "test"), "Chestionarul 1", new Question[]{question, question});
+
+        // assertion
+        for (int[] answerIDs : new int[][]{{1}, {2}, {1, 2}, {}, {1, 1}}) {
+            assertEquals(User.score(quiz, answerIDs), quiz.getScorer().score(answerIDs));
+        }
+        assertEquals(100, quiz.getScorer().score(new int[]{1}));
+    }
+
+    //endregion
+    //region 21 Bulk submission
+    @Test
+    public void testBulkSubmission() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-user", "-u 'a'", "-p 'a'"});
+        Tema1.main(new String[]{"-create-user", "-u 'b'", "-p 'b'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Q1'", "-type 'single'","-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        File submissions = File.createTempFile("submissions", ".csv");
+        try (PrintWriter writer = new PrintWriter(submissions)) {
+            writer.println("a,a,1,1");
+            writer.println("a,a,1,2");
+            writer.println("test,test,1,1");
+            writer.println("b,x,1,1");
+            writer.println("b,b,7,1");
+            writer.println("b,b,abc");
+            writer.println("b,b,1,2");
+        }
+
+        // action
+        Database db = new Database();
+        db.connect();
+        BulkSubmission.Result result = BulkSubmission.submit(db, BulkSubmission.read(submissions.getPath()));
+        db.close();
+        Tema1.main(new String[]{"-get-my-solutions", "-u 'a'", "-p 'a'"});
+        Tema1.main(new String[]{"-get-my-solutions", "-u 'b'", "-p 'b'"});
+
+        // assertion
+        int[] status = {BulkSubmission.OK, BulkSubmission.ALREADY_SUBMITTED, BulkSubmission.OWN_QUIZ,
+                BulkSubmission.LOGIN_FAILED, BulkSubmission.NO_QUIZ, BulkSubmission.NO_QUIZ_ID, BulkSubmission.OK};
+        for (int i = 0; i < status.length; i++) {
+            assertEquals(status[i], result.getStatus(i));
+        }
+        assertEquals(100, result.getScore(0));
+        assertEquals(0, result.getScore(6));
+        assertEquals(2, result.getAccepted());
+        assertEquals(("{ 'status' : 'ok', 'message' : '[{\"quiz-id\" : \"1\", \"quiz-name\" : \"Chestionarul 1\", \"score\" : \"100\", \"index_in_list\" : \"1\"}]'}\n" +
+                        "{ 'status' : 'ok', 'message' : '[{\"quiz-id\" : \"1\", \"quiz-name\" : \"Chestionarul 1\", \"score\" : \"0\", \"index_in_list\" : \"1\"}]'}").replace("' ", "'").replace(" '","'"),
+                bos.toString().trim().replace("\r\n", "\n").replace("' ", "'").replace(" '","'"));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+        submissions.delete();
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 22 Dataset generator
+    @Test
+    public void testDatasetGenerator() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        File other = java.nio.file.Files.createTempDirectory("dataset").toFile();
+
+        // action
+        new DatasetGenerator(7, 50, 20, 10, 3).generate(new File("."));
+        new DatasetGenerator(7, 50, 20, 10, 3).generate(other);
+        Database db = new Database();
+        db.connect();
+        db.close();
+
+        // assertion
+        for (String file : new String[]{"Users.csv", "Questions.csv", "Quizzes.csv", "Solutions.csv"}) {
+            assertEquals(true, java.util.Arrays.equals(java.nio.file.Files.readAllBytes(new File(file).toPath()),
+                    java.nio.file.Files.readAllBytes(new File(other, file).toPath())));
+            new File(other, file).delete();
+        }
+        other.delete();
+        assertEquals(50, db.getNoUsers());
+        assertEquals(20, db.getNoQuestions());
+        assertEquals(10, db.getNoQuizzes());
+        int solutions = 0;
+        for (int i = 0; i < db.getNoUsers(); i++) {
+            for (int j = 0; j < db.users[i].getSolCount(); j++) {
+                assertEquals(false, db.users[i].getSolutionsIndex(j).getQuiz().getUser().equals(db.users[i]));
+            }
+            solutions += db.users[i].getSolCount();
+        }
+        assertEquals(java.nio.file.Files.readAllLines(new File("Solutions.csv").toPath()).size(), solutions);
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 23 Command metrics
+    @Test
+    public void testMetricsHistogram()
+    {
+        Metrics.reset();
+        for (int i = 1; i <= 1000; i++) {
+            Metrics.record("-get-all-quizzes", i * 1000L);
+        }
+        Metrics.record("-no-such-command", 5);
+
+        // assertion
+        assertEquals(1000, Metrics.getCount("-get-all-quizzes"));
+        assertEquals(1, Metrics.getCount("other"));
+        long p50 = Metrics.getPercentile("-get-all-quizzes", 50);
+        long p99 = Metrics.getPercentile("-get-all-quizzes", 99);
+        assertEquals(true, p50 >= 500_000 && p50 <= 500_000 * 9 / 8);
+        assertEquals(true, p99 >= 990_000 && p99 <= 1_000_000);
+        assertEquals(1_000_000, Metrics.getPercentile("-get-all-quizzes", 100));
+        for (long value : new long[]{0, 7, 8, 9, 1000, 123456789, Long.MAX_VALUE}) {
+            assertEquals(true, Metrics.highestValue(Metrics.bucket(value)) >= value);
+            assertEquals(true, Metrics.highestValue(Metrics.bucket(value)) - value <= value / 8);
+        }
+        Metrics.reset();
+    }
+
+    @Test
+    public void testMetricsFollowRegistry()
+    {
+        Metrics.reset();
+        CommandRegistry.register("-metrics-probe", false, true, (command, user, db) -> { });
+        try {
+            Metrics.record("-metrics-probe", 10);
+        } finally {
+            CommandRegistry.unregister("-metrics-probe");
+        }
+        Metrics.record("-not-registered", 10);
+
+        // assertion
+        assertEquals(1, Metrics.getCount("-metrics-probe"));
+        assertEquals(1, Metrics.getCount("other"));
+        assertEquals("test,test".length(), AppendLog.encodedLength("test,test"));
+        assertEquals("măsură,în".getBytes(java.nio.charset.StandardCharsets.UTF_8).length,
+                AppendLog.encodedLength("măsură,în"));
+        assertEquals(4, AppendLog.encodedLength("\uD83D\uDE00"));
+        Metrics.reset();
+    }
+
+    @Test
+    public void testDumpMetrics()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Metrics.reset();
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        // action
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-get-all-quizzes", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-dump-metrics"});
+
+        // assertion
+        String[] lines = bos.toString().trim().split("\\R");
+        assertEquals(3, lines.length);
+        assertEquals(true, lines[2].startsWith("{ 'status' : 'ok', 'message' : '{\"commands\" : {\"-create-user\" : {\"count\" : 1, "));
+        assertEquals(true, lines[2].contains("\"-get-all-quizzes\" : {\"count\" : 1, "));
+        assertEquals(true, lines[2].contains("\"p99_us\" : "));
+        assertEquals(true, Metrics.getBytesWritten() >= "test,test".length());
+        assertEquals(true, Metrics.getRowsScanned() >= 1);
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+        Metrics.reset();
+    }
+
+    //endregion
+    //region 24 Concurrent commands
+    @Test
+    public void testConcurrentCommands() throws InterruptedException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Database db = new Database();
+        db.connect();
+
+        // action
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    String name = "t" + thread + "q" + i;
+                    new Command(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text '" + name + "'", "-type 'single'",
+                            "-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"}).interpreter(db);
+                    new Command(new String[]{"-get-all-questions", "-u 'test'", "-p 'test'", "-page-size '5'"}).interpreter(db);
+                    new Command(new String[]{"-get-question-id-by-text", "-u 'test'", "-p 'test'", "-text '" + name + "'"}).interpreter(db);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        db.close();
+
+        // assertion
+        assertEquals(200, db.getNoQuestions());
+        java.util.HashSet<Integer> ids = new java.util.HashSet<>();
+        for (int i = 0; i < db.getNoQuestions(); i++) {
+            ids.add(db.questions[i].getId());
+        }
+        assertEquals(200, ids.size());
+        assertEquals(false, bos.toString().contains("error"));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 25 Command server
+    @Test
+    public void testCommandServer() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+        Database db = new Database();
+        db.connect();
+        CommandServer server = new CommandServer(db, 0).start();
+
+        // action
+        long[] latencies = LoadClient.connection(server.getPort(), "-get-all-quizzes -u 'test' -p 'test'", 50);
+        String[] responses = new String[3];
+        try (java.net.Socket socket = new java.net.Socket(java.net.InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(new java.io.InputStreamReader(socket.getInputStream()));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("-create-user -u 'other' -p 'other'");
+            responses[0] = in.readLine();
+            out.println("-get-all-questions -u 'other' -p 'other'");
+            responses[1] = in.readLine();
+            out.println("-get-all-questions -u 'other' -p 'wrong'");
+            responses[2] = in.readLine();
+            out.println("-exit");
+            assertEquals(null, in.readLine());
+        }
+        server.close();
+        db.close();
+
+        // assertion
+        assertEquals(50, latencies.length);
+        assertEquals("{ 'status' : 'ok', 'message' : 'User created successfully' }", responses[0]);
+        assertEquals("{ 'status' : 'ok', 'message' : '[]'}", responses[1]);
+        assertEquals("{ 'status' : 'error', 'message' : 'Login failed' }", responses[2]);
+        assertEquals("", bos.toString().trim());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    @Test
+    public void testCommandServerKeepsConnectionAfterInvalidCommand() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Database db = new Database();
+        db.connect();
+        CommandServer server = new CommandServer(db, 0).start();
+
+        // action
+        String[] responses = new String[2];
+        try (java.net.Socket socket = new java.net.Socket(java.net.InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(new java.io.InputStreamReader(socket.getInputStream()));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("-get-quizz-details-by-id -u 'test' -p 'test' -id 'abc'");
+            responses[0] = in.readLine();
+            out.println("-get-all-quizzes -u 'test' -p 'test'");
+            responses[1] = in.readLine();
+            out.println("-exit");
+            assertEquals(null, in.readLine());
+        }
+        server.close();
+        db.close();
+
+        // assertion
+        assertEquals("{ 'status' : 'error', 'message' : 'Invalid command'}", responses[0]);
+        assertEquals("{ 'status' : 'ok', 'message' : '[]'}", responses[1]);
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    @Test
+    public void testCommandServerRestoresStandardOutput() throws IOException
+    {
+        PrintStream originalOut = System.out;
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        System.setOut(out);
+
+        // action
+        CommandServer first = new CommandServer(new Database(), 0);
+        CommandServer second = new CommandServer(new Database(), 0);
+        boolean routed = System.out != out;
+        first.close();
+        boolean routedAfterFirst = System.out != out;
+        second.close();
+        second.close();
+        PrintStream restored = System.out;
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // assertion
+        assertEquals(true, routed);
+        assertEquals(true, routedAfterFirst);
+        assertEquals(out, restored);
+    }
+
+    //endregion
+    //region 26 Session tokens
+    @Test
+    public void testSessionTokens()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Database db = new Database();
+        db.connect();
+        bos.reset();
+
+        // action
+        Command.parse("-login -u 'test' -p 'wrong'").interpreter(db);
+        Command.parse("-login -u 'test' -p 'test'").interpreter(db);
+        String[] lines = bos.toString().split("\\R");
+        String token = lines[1].split("'")[7];
+        bos.reset();
+        Command.parse("-create-question -token '" + token + "' -text 'Sky?' -type 'single' -answer-1 'Blue' -answer-1-is-correct '1' -answer-2 'Red' -answer-2-is-correct '0'").interpreter(db);
+        Command.parse("-create-quizz -token '" + token + "' -name 'Colors' -question-1 '1'").interpreter(db);
+        Command.parse("-get-all-quizzes -token 'nosuchtoken'").interpreter(db);
+        Command.parse("-logout -token '" + token + "'").interpreter(db);
+        Command.parse("-get-all-quizzes -token '" + token + "'").interpreter(db);
+        db.close();
+
+        // assertion
+        assertEquals("{ 'status' : 'error', 'message' : 'Login failed' }", lines[0]);
+        assertEquals(32, token.length());
+        assertEquals("{ 'status' : 'ok', 'message' : 'Question added successfully' }" + System.lineSeparator()
+                + "{ 'status' : 'ok', 'message' : 'Quizz added succesfully'}" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'Invalid or expired session' }" + System.lineSeparator()
+                + "{ 'status' : 'ok', 'message' : 'Logged out successfully'}" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'Invalid or expired session' }" + System.lineSeparator(), bos.toString());
+        assertEquals("test", db.quizzes[0].getUser().getUsername());
+
+        SessionTable sessions = new SessionTable(0);
+        assertEquals(null, sessions.resolve(sessions.open(db.users[0])));
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 27 Request parser
+    @Test
+    public void testRequestParser()
+    {
+        // action
+        Request request = new Request(new String[]{"-create-question", "-u 'test'", "-p", " -text 'Is it 10?' ",
+                "-answer-12-is-correct '1'", "-id '42'", "-answer-1 ''", "-cursor 'abc"});
+
+        // assertion
+        assertEquals(8, request.size());
+        assertEquals("-create-question", request.getType());
+        assertEquals(true, request.is(1, "-u"));
+        assertEquals("test", request.value(1));
+        assertEquals(true, request.is(2, "-p"));
+        assertEquals(false, request.hasValue(2));
+        assertEquals(null, request.value(2));
+        assertEquals(true, request.is(3, "-text"));
+        assertEquals("Is it 10?", request.value(3));
+        assertEquals(true, request.is(4, "-answer-", 12, "-is-correct"));
+        assertEquals(false, request.is(4, "-answer-", 1, "-is-correct"));
+        assertEquals(false, request.is(4, "-answer-", 12, ""));
+        assertEquals(true, request.valueEquals(4, "1"));
+        assertEquals(42, request.intValue(5));
+        assertEquals(false, request.hasValue(6));
+        assertEquals("abc", request.value(7));
+        assertEquals(7, request.option("-cursor"));
+        assertEquals(-1, request.option("-page-size"));
+        assertEquals(false, request.is(8, "-u"));
+        boolean thrown = false;
+        try {
+            request.intValue(7);
+        } catch (NumberFormatException e) {
+            thrown = true;
+        }
+        assertEquals(true, thrown);
+    }
+
+    //endregion
+    //region 28 Command registry
+    @Test
+    public void testCommandRegistry()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Database db = new Database();
+        db.connect();
+        bos.reset();
+
+        // action
+        CommandRegistry.register("-whoami", true, true, (command, user, database) -> {
+            System.out.println("{ 'status' : 'ok', 'message' : '" + user.getUsername() + " "
+                    + database.getLock().isWriteLocked() + "'}");
+        });
+        try {
+            Command.parse("-whoami -u 'test' -p 'test'").interpreter(db);
+            Command.parse("-whoami -u 'test' -p 'wrong'").interpreter(db);
+            Command.parse("-no-such-command -u 'test' -p 'test'").interpreter(db);
+        } finally {
+            CommandRegistry.unregister("-whoami");
+        }
+        Command.parse("-whoami -u 'test' -p 'test'").interpreter(db);
+        db.close();
+
+        // assertion
+        assertEquals("{ 'status' : 'ok', 'message' : 'test false'}" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'Login failed' }" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'Unknown command'}" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'Unknown command'}" + System.lineSeparator(), bos.toString());
+        assertEquals(null, CommandRegistry.find("-whoami"));
+        assertEquals(true, Command.isReadOnly("-get-all-quizzes"));
+        assertEquals(false, Command.isReadOnly("-submit-quizz"));
+        assertEquals(false, Command.isReadOnly("-save-snapshot"));
+        assertEquals(false, Command.isReadOnly("-login"));
+        assertEquals(false, Command.isReadOnly("-logout"));
+        assertEquals(false, CommandRegistry.find("-create-user").isAuthRequired());
+        assertEquals(true, CommandRegistry.find("-delete-quizz-by-id").isAuthRequired());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
+    //region 29 Lazy solutions
+    @Test
+    public void testLazySolutions()
+    {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bos));
+
+        Tema1.main(new String[]{"-cleanup-all"});
+        Tema1.main(new String[]{"-create-user", "-u 'test'", "-p 'test'"});
+        Tema1.main(new String[]{"-create-user", "-u 'test2'", "-p 'test2'"});
+        Tema1.main(new String[]{"-create-user", "-u 'test3'", "-p 'test3'"});
+        Tema1.main(new String[]{"-create-question", "-u 'test'", "-p 'test'", "-text 'Cerul este albastru'", "-type 'single'", "-answer-1 'Yes'", "-answer-1-is-correct '1'", "-answer-2 'No'", "-answer-2-is-correct '0'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 1'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-create-quizz", "-u 'test'", "-p 'test'", "-name 'Chestionarul 2'", "-question-1 '1'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '1'", "-answer-id-1 '1'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test2'", "-p 'test2'", "-quiz-id '2'", "-answer-id-1 '2'"});
+        Tema1.main(new String[]{"-submit-quizz", "-u 'test3'", "-p 'test3'", "-quiz-id '1'", "-answer-id-1 '2'"});
+        Tema1.main(new String[]{"-delete-quizz-by-id", "-u 'test'", "-p 'test'", "-id '2'"});
+        Database db = new Database();
+        db.connect();
+        bos.reset();
+
+        // action
+        Command.parse("-get-quizz-by-name -u 'test2' -p 'test2' -name 'Chestionarul 1'").interpreter(db);
+        boolean pendingAfterFind = db.findUser("test2").hasPendingSolutions();
+        int points = db.findUser("test2").getPoints(db.findQuiz(1));
+        boolean test3Pending = db.findUser("test3").hasPendingSolutions();
+        Command.parse("-submit-quizz -u 'test3' -p 'test3' -quiz-id '1' -answer-id-1 '1'").interpreter(db);
+        db.loadAllSolutions();
+        db.close();
+
+        // assertion
+        assertEquals(true, pendingAfterFind);
+        assertEquals(100, points);
+        assertEquals(1, db.findUser("test2").getSolCount());
+        assertEquals(false, db.findUser("test2").hasPendingSolutions());
+        assertEquals(true, test3Pending);
+        assertEquals(1, db.findUser("test3").getSolCount());
+        assertEquals(false, db.findUser("test").hasPendingSolutions());
+        assertEquals("{ 'status' : 'ok', 'message' : '1'}" + System.lineSeparator()
+                + "{ 'status' : 'error', 'message' : 'You already submitted this quizz'}" + System.lineSeparator(), bos.toString());
+
+        // undo the binding in System
+        System.setOut(originalOut);
+
+        // action
+        Tema1.main(new String[]{"-cleanup-all"});
+    }
+
+    //endregion
 }
\ No newline at end of file